@@ -0,0 +1,51 @@
+package com.libreria.app_libros;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Respuestas JSON ya serializadas, por clave (por ejemplo "pagina:0:100") y versión de los datos.
+// Una entrada solo sirve para la versión con la que se guardó: al aparecer una versión nueva
+// se empieza una caché vacía, así que solo ocupa memoria la versión vigente.
+// Las claves las arma el cliente (páginas y búsquedas distintas), así que el límite es en bytes:
+// al llegar a la capacidad deja de guardar y esas lecturas se sirven serializando (o con 304).
+final class CacheRespuestas {
+
+    // Entradas de una misma versión y cuántos bytes ocupan
+    private record Generacion(long version, ConcurrentHashMap<String, byte[]> cuerpos, AtomicLong bytes) {
+        Generacion(long version) {
+            this(version, new ConcurrentHashMap<>(), new AtomicLong());
+        }
+    }
+
+    private final long capacidadBytes;
+    private final AtomicReference<Generacion> vigente = new AtomicReference<>(new Generacion(-1));
+
+    CacheRespuestas(long capacidadBytes) {
+        this.capacidadBytes = capacidadBytes;
+    }
+
+    // Cuerpo guardado para la clave y la versión, o null
+    byte[] obtener(String clave, long version) {
+        Generacion generacion = vigente.get();
+        return generacion.version() == version ? generacion.cuerpos().get(clave) : null;
+    }
+
+    void guardar(String clave, long version, byte[] cuerpo) {
+        if (version < 0) {
+            return;
+        }
+        Generacion generacion = vigente.updateAndGet(g -> version > g.version() ? new Generacion(version) : g);
+        if (generacion.version() != version) {
+            return;
+        }
+        // Se reserva antes de guardar: con varios hilos a la vez nunca se pasa de la capacidad
+        if (generacion.bytes().addAndGet(cuerpo.length) > capacidadBytes) {
+            generacion.bytes().addAndGet(-cuerpo.length);
+            return;
+        }
+        if (generacion.cuerpos().putIfAbsent(clave, cuerpo) != null) {
+            generacion.bytes().addAndGet(-cuerpo.length);
+        }
+    }
+}
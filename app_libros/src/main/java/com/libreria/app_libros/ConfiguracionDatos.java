@@ -0,0 +1,25 @@
+package com.libreria.app_libros;
+
+import com.libreria.app_libros.models.Database;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Conecta Database al pool de Spring (HikariCP) y prepara las tablas antes de que
+// el servidor empiece a recibir peticiones
+@Configuration
+public class ConfiguracionDatos {
+
+    private final DataSource dataSource;
+
+    public ConfiguracionDatos(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        Database.usarDataSource(dataSource);
+        Database.crearTablas();
+    }
+}
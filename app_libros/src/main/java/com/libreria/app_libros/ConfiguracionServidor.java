@@ -0,0 +1,19 @@
+package com.libreria.app_libros;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+// Tomcat atiende cada petición en un hilo virtual en lugar de su pool de 200 hilos:
+// las esperas de E/S (base de datos, red) no ocupan un hilo del sistema.
+// La concurrencia real contra SQLite la limita el pool de conexiones (ver application.properties).
+@Configuration
+public class ConfiguracionServidor {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> hilosVirtuales() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
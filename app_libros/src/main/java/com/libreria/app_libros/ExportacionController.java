@@ -0,0 +1,101 @@
+package com.libreria.app_libros;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.libreria.app_libros.models.Database;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+// Exportación del catálogo completo por ID ascendente, en NDJSON (un libro por línea) o,
+// si se pide Accept: text/event-stream, como eventos SSE con el ID del libro como id del evento.
+//
+// Los libros van del cursor de Database.recorrerLibros a la respuesta sin acumularse: la memoria
+// es la misma para mil filas que para un millón. El búfer de la respuesta es fijo (TAMANO_BUFER)
+// y, cuando se llena, la escritura bloquea el hilo virtual de la petición hasta que el cliente lee;
+// mientras tanto el cursor no avanza (contrapresión).
+//
+// Para reanudar una exportación cortada: ?despues=<último ID recibido>, o el encabezado
+// Last-Event-ID que los clientes SSE mandan solos al reconectar.
+@RestController
+@RequestMapping("/api/libros")
+public class ExportacionController {
+
+    static final int TAMANO_BUFER = 64 * 1024;
+
+    // Cada exportación ocupa una conexión del pool mientras dura
+    static final int EXPORTACIONES_SIMULTANEAS = 2;
+
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+
+    private final JsonFactory json;
+    private final Semaphore exportaciones = new Semaphore(EXPORTACIONES_SIMULTANEAS);
+
+    public ExportacionController(ObjectMapper mapper) {
+        this.json = mapper.getFactory();
+    }
+
+    // GET /api/libros/exportar?despues=0
+    @GetMapping("/exportar")
+    public void exportar(@RequestParam(defaultValue = "0") int despues,
+                         @RequestHeader(value = "Last-Event-ID", required = false) Integer ultimoEvento,
+                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String aceptar,
+                         HttpServletResponse respuesta) throws IOException {
+        boolean eventos = aceptar != null && aceptar.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        int desde = ultimoEvento != null ? Math.max(despues, ultimoEvento) : despues;
+
+        if (!exportaciones.tryAcquire()) {
+            respuesta.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Hay demasiadas exportaciones en curso");
+        }
+        try {
+            respuesta.setBufferSize(TAMANO_BUFER);
+            respuesta.setContentType(eventos ? MediaType.TEXT_EVENT_STREAM_VALUE : NDJSON.toString());
+            respuesta.setCharacterEncoding("UTF-8");
+            respuesta.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            // Los encabezados salen enseguida, antes de la primera fila
+            respuesta.flushBuffer();
+
+            // Sin AUTO_CLOSE_TARGET: cerrar el generador no debe terminar la respuesta, para que
+            // un error a la mitad corte la conexión en lugar de parecer una exportación completa
+            try (JsonGenerator gen = json.createGenerator(respuesta.getOutputStream())
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                gen.setRootValueSeparator(null);
+                long filas;
+                if (eventos) {
+                    filas = Database.recorrerLibros(desde, libro -> {
+                        gen.writeRaw("id: " + libro.getId() + "\ndata: ");
+                        LibroJson.escribir(gen, libro);
+                        gen.writeRaw("\n\n");
+                    });
+                } else {
+                    filas = Database.recorrerLibros(desde, libro -> {
+                        LibroJson.escribir(gen, libro);
+                        gen.writeRaw('\n');
+                    });
+                }
+                if (filas < 0) {
+                    // La respuesta ya empezó: al fallar después del commit, Tomcat cierra la
+                    // conexión sin el último fragmento y el cliente ve la exportación incompleta
+                    throw new IOException("Exportación interrumpida por un error de la base de datos");
+                }
+                if (eventos) {
+                    gen.writeRaw("event: fin\ndata: {\"filas\":" + filas + "}\n\n");
+                }
+            }
+        } finally {
+            exportaciones.release();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.libreria.app_libros;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Limita cuántas veces se registra un mismo mensaje (misma plantilla, con {}) en una ventana
+// de tiempo: por defecto 5 cada 10 s. A diferencia de DuplicateMessageFilter, pasada la ventana
+// el mensaje vuelve a registrarse, así que un error que se repite durante horas sigue apareciendo.
+// Al reabrirse la ventana se avisa cuántos se suprimieron. Se configura en logback.xml.
+public class FiltroRepeticiones extends TurboFilter {
+
+    // Las plantillas son constantes del código; esto solo protege de plantillas armadas en tiempo de ejecución
+    private static final int MAXIMO_PLANTILLAS = 10_000;
+
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(FiltroRepeticiones.class);
+
+    private final ConcurrentHashMap<String, Ventana> ventanas = new ConcurrentHashMap<>();
+    private int maximoPorVentana = 5;
+    private long ventanaMs = 10_000;
+
+    public void setMaximoPorVentana(int maximoPorVentana) {
+        this.maximoPorVentana = maximoPorVentana;
+    }
+
+    public void setVentanaMs(long ventanaMs) {
+        this.ventanaMs = ventanaMs;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Los mensajes de un nivel desactivado no cuentan (logger.isEnabledFor volvería a llamar al filtro)
+        if (format == null || !isStarted() || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Ventana ventana = ventanas.get(format);
+        if (ventana == null) {
+            if (ventanas.size() >= MAXIMO_PLANTILLAS) {
+                return FilterReply.NEUTRAL;
+            }
+            ventana = ventanas.computeIfAbsent(format, f -> new Ventana());
+        }
+
+        long suprimidos = ventana.admitir(System.nanoTime());
+        if (suprimidos < 0) {
+            return FilterReply.DENY;
+        }
+        if (suprimidos > 0) {
+            LOG.warn("{} mensajes repetidos suprimidos: {}", suprimidos, format);
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private final class Ventana {
+        private long inicio = System.nanoTime();
+        private int admitidos;
+        private long suprimidos;
+
+        // -1 si se suprime; si no, cuántos se suprimieron desde el último que pasó
+        synchronized long admitir(long ahora) {
+            if (ahora - inicio >= ventanaMs * 1_000_000) {
+                inicio = ahora;
+                admitidos = 0;
+            }
+            if (admitidos >= maximoPorVentana) {
+                suprimidos++;
+                return -1;
+            }
+            admitidos++;
+            long anteriores = suprimidos;
+            suprimidos = 0;
+            return anteriores;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.libreria.app_libros;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.libreria.app_libros.models.Libro;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// Escribe libros campo por campo con el JsonGenerator de Jackson, directamente en la
+// respuesta: sin pasar por reflexión, árboles JSON ni un String intermedio.
+// Produce los mismos campos que ObjectMapper para Libro (la fecha como "2024-01-31").
+final class LibroJson {
+
+    private LibroJson() {}
+
+    static void escribir(JsonGenerator json, Libro libro) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", libro.getId());
+        json.writeStringField("nombreLibro", libro.getNombreLibro());
+        json.writeStringField("nombreAutor", libro.getNombreAutor());
+        json.writeStringField("fechaLanzamiento", libro.getFechaLanzamiento().toString());
+        json.writeStringField("editorial", libro.getEditorial());
+        // El costo se guarda en centavos: se escribe con dos decimales exactos
+        json.writeNumberField("costo", BigDecimal.valueOf(Math.round(libro.getCosto() * 100), 2));
+        json.writeEndObject();
+    }
+}
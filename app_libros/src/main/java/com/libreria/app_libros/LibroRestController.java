@@ -0,0 +1,225 @@
+package com.libreria.app_libros;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.libreria.app_libros.models.Database;
+import com.libreria.app_libros.models.Libro;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.sql.SQLException;
+import java.util.List;
+
+// API REST de libros (JSON) sobre models.Database.
+// Las lecturas se serializan con LibroJson y llevan un ETag con la versión de los datos
+// (Database.obtenerVersionDatos): si el cliente manda If-None-Match con esa versión se
+// responde 304 sin consultar la tabla, y si no, se reutiliza la respuesta ya serializada
+// mientras la versión no cambie.
+@RestController
+@RequestMapping("/api/libros")
+public class LibroRestController {
+
+    static final int TAMANO_PAGINA = 100;
+    static final int TAMANO_PAGINA_MAXIMO = 1000;
+    static final int TAMANO_LOTE_MAXIMO = 10_000;
+    // Una página de 1000 libros ocupa unos 150 KB: alcanza para las páginas y búsquedas más pedidas
+    static final long CAPACIDAD_CACHE_BYTES = 16 * 1024 * 1024;
+
+    private final JsonFactory json;
+    private final CacheRespuestas cache = new CacheRespuestas(CAPACIDAD_CACHE_BYTES);
+
+    public LibroRestController(ObjectMapper mapper) {
+        this.json = mapper.getFactory();
+    }
+
+    // Resultado de POST /lote: cuántos se insertaron y sus IDs, en el orden recibido
+    public record ResultadoLote(int insertados, int[] ids) {}
+
+    // Escribe el cuerpo de una lectura; un error de la base se responde con 500
+    @FunctionalInterface
+    interface Escritura {
+        void escribir(JsonGenerator gen) throws IOException, SQLException;
+    }
+
+    // GET /api/libros?despues=0&tamano=100 -> {"libros": [...], "siguiente": 100}
+    // "siguiente" es el valor de "despues" para la próxima página (null en la última)
+    @GetMapping
+    public void listar(@RequestParam(defaultValue = "0") int despues,
+                       @RequestParam(defaultValue = "" + TAMANO_PAGINA) int tamano,
+                       ServletWebRequest peticion, HttpServletResponse respuesta) throws IOException {
+        validarTamano(tamano, TAMANO_PAGINA_MAXIMO);
+        responder("pagina:" + despues + ":" + tamano, peticion, respuesta, gen -> {
+            List<Libro> libros = Database.obtenerPagina(despues, tamano);
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("libros");
+            for (Libro libro : libros) {
+                LibroJson.escribir(gen, libro);
+            }
+            gen.writeEndArray();
+            if (libros.size() == tamano) {
+                gen.writeNumberField("siguiente", libros.get(libros.size() - 1).getId());
+            } else {
+                gen.writeNullField("siguiente");
+            }
+            gen.writeEndObject();
+        });
+    }
+
+    // GET /api/libros/buscar?q=garcia&limite=100 -> [...] ordenado por relevancia
+    @GetMapping("/buscar")
+    public void buscar(@RequestParam("q") String criterio,
+                       @RequestParam(defaultValue = "" + TAMANO_PAGINA) int limite,
+                       ServletWebRequest peticion, HttpServletResponse respuesta) throws IOException {
+        validarTamano(limite, TAMANO_PAGINA_MAXIMO);
+        responder("buscar:" + limite + ":" + criterio, peticion, respuesta, gen -> {
+            gen.writeStartArray();
+            for (Libro libro : Database.buscarLibros(criterio, limite)) {
+                LibroJson.escribir(gen, libro);
+            }
+            gen.writeEndArray();
+        });
+    }
+
+    @GetMapping("/{id}")
+    public void obtener(@PathVariable int id, ServletWebRequest peticion,
+                        HttpServletResponse respuesta) throws IOException {
+        responder("libro:" + id, peticion, respuesta, gen -> {
+            Libro libro = Database.obtenerLibro(id);
+            if (libro == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe el libro " + id);
+            }
+            LibroJson.escribir(gen, libro);
+        });
+    }
+
+    @PostMapping
+    public ResponseEntity<Libro> crear(@RequestBody Libro libro) {
+        validar(libro);
+        int id = Database.insertarLibro(libro);
+        if (id < 0) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo insertar el libro");
+        }
+        return ResponseEntity.created(URI.create("/api/libros/" + id)).body(libro);
+    }
+
+    // POST /api/libros/lote con un arreglo de libros: se insertan todos o ninguno
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLote> crearLote(@RequestBody List<Libro> libros) {
+        if (libros.size() > TAMANO_LOTE_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Máximo " + TAMANO_LOTE_MAXIMO + " libros por lote");
+        }
+        for (Libro libro : libros) {
+            validar(libro);
+        }
+        int insertados = Database.insertarLibros(libros);
+        if (insertados != libros.size()) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo insertar el lote");
+        }
+        int[] ids = new int[insertados];
+        for (int i = 0; i < insertados; i++) {
+            ids[i] = libros.get(i).getId();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ResultadoLote(insertados, ids));
+    }
+
+    @PutMapping("/{id}")
+    public Libro actualizar(@PathVariable int id, @RequestBody Libro libro) {
+        validar(libro);
+        libro.setId(id);
+        if (!Database.actualizarLibro(libro)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe el libro " + id);
+        }
+        return libro;
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> eliminar(@PathVariable int id) {
+        if (!Database.eliminarLibro(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe el libro " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Lectura condicional: 304 si el cliente ya tiene esta versión, si no el cuerpo
+    // guardado para la versión actual o uno recién serializado
+    private void responder(String clave, ServletWebRequest peticion, HttpServletResponse respuesta,
+                           Escritura escritura) throws IOException {
+        // La versión se lee antes que los datos: si algo cambia en medio, el cuerpo queda
+        // guardado con una versión vieja y se descarta en la próxima petición
+        long version = Database.obtenerVersionDatos();
+        String etag = "\"" + version + "\"";
+        respuesta.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        // Sin la respuesta, checkNotModified solo compara If-None-Match y no pone el ETag:
+        // se pone aquí en el 304 y más abajo solo si los datos se leyeron bien
+        if (version >= 0 && new ServletWebRequest(peticion.getRequest()).checkNotModified(etag)) {
+            respuesta.setHeader(HttpHeaders.ETAG, etag);
+            respuesta.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        byte[] cuerpo = cache.obtener(clave, version);
+        if (cuerpo == null) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream(8 * 1024);
+            try (JsonGenerator gen = json.createGenerator(salida)) {
+                escritura.escribir(gen);
+            } catch (SQLException e) {
+                // No una lista vacía o un 404: el cliente los leería como el final del catálogo o un libro borrado
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudieron leer los libros", e);
+            }
+            // Solo llega aquí si la consulta terminó bien: nunca se guarda un cuerpo de error
+            cuerpo = salida.toByteArray();
+            cache.guardar(clave, version, cuerpo);
+        }
+
+        // Sin versión (falló su lectura) no hay ETag: no habría con qué validar la respuesta
+        if (version >= 0) {
+            respuesta.setHeader(HttpHeaders.ETAG, etag);
+        }
+        respuesta.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        respuesta.setContentLength(cuerpo.length);
+        respuesta.getOutputStream().write(cuerpo);
+    }
+
+    private static void validarTamano(int tamano, int maximo) {
+        if (tamano < 1 || tamano > maximo) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El tamaño debe estar entre 1 y " + maximo);
+        }
+    }
+
+    // Las mismas reglas que la tabla: todos los campos obligatorios y costo no negativo
+    private static void validar(Libro libro) {
+        String error = null;
+        if (libro == null) {
+            error = "Falta el libro";
+        } else if (estaVacio(libro.getNombreLibro())) {
+            error = "Falta nombreLibro";
+        } else if (estaVacio(libro.getNombreAutor())) {
+            error = "Falta nombreAutor";
+        } else if (estaVacio(libro.getEditorial())) {
+            error = "Falta editorial";
+        } else if (libro.getFechaLanzamiento() == null) {
+            error = "Falta fechaLanzamiento";
+        } else if (!(libro.getCosto() >= 0)) {
+            error = "El costo no puede ser negativo";
+        }
+        if (error != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
+        }
+    }
+
+    private static boolean estaVacio(String texto) {
+        return texto == null || texto.isBlank();
+    }
+}
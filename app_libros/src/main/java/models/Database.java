@@ -1,117 +1,479 @@
 package com.libreria.app_libros.models;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.biblioteca.migraciones.Migrador;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class Database {
+    private static final Logger LOG = LoggerFactory.getLogger(Database.class);
+
     private static final String URL = "jdbc:sqlite:libros.db";
 
-    // Conectar a la base de datos
-    public static Connection connect() {
-        Connection conn = null;
+    // Pool de conexiones; sin él (fuera de Spring) cada operación abre su propia conexión
+    private static volatile DataSource dataSource;
+
+    // Latencia, errores y filas de cada operación (ver Metricas)
+    private static final Timer TIEMPO_CONECTAR = Metricas.temporizador("conectar");
+    private static final Timer TIEMPO_INSERTAR = Metricas.temporizador("insertar");
+    private static final Timer TIEMPO_OBTENER_TODOS = Metricas.temporizador("obtenerTodos");
+    private static final Timer TIEMPO_EDITORIALES = Metricas.temporizador("obtenerEditoriales");
+    private static final Timer TIEMPO_ACTUALIZAR = Metricas.temporizador("actualizar");
+    private static final Timer TIEMPO_ELIMINAR = Metricas.temporizador("eliminar");
+    private static final Timer TIEMPO_BUSCAR = Metricas.temporizador("buscar");
+    private static final Timer TIEMPO_OBTENER_PAGINA = Metricas.temporizador("obtenerPagina");
+    private static final Timer TIEMPO_OBTENER_LIBRO = Metricas.temporizador("obtenerLibro");
+    private static final Timer TIEMPO_INSERTAR_LOTE = Metricas.temporizador("insertarLote");
+    private static final Timer TIEMPO_VERSION = Metricas.temporizador("obtenerVersionDatos");
+    private static final Timer TIEMPO_RECORRER = Metricas.temporizador("recorrer");
+    private static final Counter ERRORES_CONECTAR = Metricas.errores("conectar");
+    private static final Counter ERRORES_INSERTAR = Metricas.errores("insertar");
+    private static final Counter ERRORES_OBTENER_TODOS = Metricas.errores("obtenerTodos");
+    private static final Counter ERRORES_EDITORIALES = Metricas.errores("obtenerEditoriales");
+    private static final Counter ERRORES_ACTUALIZAR = Metricas.errores("actualizar");
+    private static final Counter ERRORES_ELIMINAR = Metricas.errores("eliminar");
+    private static final Counter ERRORES_BUSCAR = Metricas.errores("buscar");
+    private static final Counter ERRORES_OBTENER_PAGINA = Metricas.errores("obtenerPagina");
+    private static final Counter ERRORES_OBTENER_LIBRO = Metricas.errores("obtenerLibro");
+    private static final Counter ERRORES_INSERTAR_LOTE = Metricas.errores("insertarLote");
+    private static final Counter ERRORES_VERSION = Metricas.errores("obtenerVersionDatos");
+    private static final Counter ERRORES_RECORRER = Metricas.errores("recorrer");
+    private static final Counter FILAS_OBTENER_TODOS = Metricas.filas("obtenerTodos");
+    private static final Counter FILAS_BUSCAR = Metricas.filas("buscar");
+    private static final Counter FILAS_OBTENER_PAGINA = Metricas.filas("obtenerPagina");
+    private static final Counter FILAS_INSERTAR_LOTE = Metricas.filas("insertarLote");
+    private static final Counter FILAS_RECORRER = Metricas.filas("recorrer");
+
+    // Recibe uno por uno los libros de recorrerLibros
+    @FunctionalInterface
+    public interface ConsumidorLibro {
+        void aceptar(Libro libro) throws IOException;
+    }
+
+    // Usar un pool de conexiones en lugar de DriverManager
+    public static void usarDataSource(DataSource pool) {
+        dataSource = pool;
+    }
+
+    // Conectar a la base de datos. El error se propaga: cada operación lo trata como
+    // cualquier otro error de SQL en lugar de fallar después con una conexión null
+    public static Connection connect() throws SQLException {
+        long inicio = System.nanoTime();
         try {
-            conn = DriverManager.getConnection(URL);
-            System.out.println("✅ Conexión a SQLite establecida.");
+            DataSource pool = dataSource;
+            Connection conn = pool != null ? pool.getConnection() : DriverManager.getConnection(URL);
+            LOG.debug("✅ Conexión a SQLite establecida.");
+            return conn;
         } catch (SQLException e) {
-            System.out.println("❌ Error al conectar: " + e.getMessage());
+            ERRORES_CONECTAR.increment();
+            LOG.error("❌ Error al conectar: {}", e.getMessage());
+            throw e;
+        } finally {
+            TIEMPO_CONECTAR.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
-        return conn;
     }
 
-    // Crear tablas si no existen
-    public static void crearTablas() {
-        String sqlLibros = """
-            CREATE TABLE IF NOT EXISTS libros (
+    // fecha_lanzamiento: días desde 1970-01-01 (LocalDate.toEpochDay); costo: centavos
+    private static final String COLUMNAS_LIBROS = """
+            (
                 id INTEGER PRIMARY KEY AUTOINCREMENT,
                 nombre_libro TEXT NOT NULL,
                 nombre_autor TEXT NOT NULL,
-                fecha_lanzamiento DATE NOT NULL,
+                fecha_lanzamiento INTEGER NOT NULL,
                 editorial TEXT NOT NULL,
-                costo REAL NOT NULL
+                costo INTEGER NOT NULL
             )""";
 
-        String sqlEditoriales = """
-            CREATE TABLE IF NOT EXISTS editoriales (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                nombre TEXT NOT NULL UNIQUE
-            )""";
+    // Versión del esquema en PRAGMA user_version. Un cambio de esquema se agrega como
+    // migración nueva con el número siguiente; las existentes no se modifican
+    private static final Migrador MIGRACIONES = new Migrador()
+            .agregar(1, "esquema inicial", Database::esquemaInicial);
 
-        try (Connection conn = connect();
-             Statement stmt = conn.createStatement()) {
-
-            // Crear tablas
-            stmt.execute(sqlLibros);
-            stmt.execute(sqlEditoriales);
-            System.out.println("✅ Tablas verificadas/creadas.");
-
-            // Insertar editoriales por defecto
-            String[] editorialesDefault = {
-                    "Penguin Random House", "HarperCollins", "Simon & Schuster",
-                    "Macmillan", "Hachette Livre", "Editorial Planeta",
-                    "Grupo Santillana", "Fondo de Cultura Económica"
-            };
-
-            for (String editorial : editorialesDefault) {
-                String insert = "INSERT OR IGNORE INTO editoriales (nombre) VALUES (?)";
-                try (PreparedStatement pstmt = conn.prepareStatement(insert)) {
-                    pstmt.setString(1, editorial);
-                    pstmt.executeUpdate();
+    // Lleva la base a la última versión del esquema. Si ya está al día solo lee
+    // user_version; si no, aplica las migraciones pendientes en una transacción.
+    // Si falla (o la base es de una versión más nueva) lanza IllegalStateException:
+    // no se puede atender peticiones con un esquema desconocido o a medio migrar
+    public static void crearTablas() {
+        try (Connection conn = connect()) {
+            List<String> aplicadas = MIGRACIONES.migrar(conn);
+            for (String migracion : aplicadas) {
+                LOG.info("✅ Migración de esquema aplicada: {}", migracion);
+            }
+            if (aplicadas.isEmpty()) {
+                LOG.debug("✅ Esquema al día (versión {}).", MIGRACIONES.getVersionFinal());
+            }
+        } catch (SQLException e) {
+            LOG.error("❌ Error al migrar el esquema: {}", e.getMessage());
+            throw new IllegalStateException("No se pudo migrar el esquema de la base de datos", e);
+        }
+    }
+
+    // Parte de cualquier base anterior a user_version (vacía, con fechas DATE o con el
+    // esquema actual), por eso cada paso comprueba lo que ya existe
+    private static void esquemaInicial(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS libros " + COLUMNAS_LIBROS);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS editoriales (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    nombre TEXT NOT NULL UNIQUE
+                )""");
+
+            migrarTiposNativos(conn);
+            crearIndiceTextoCompleto(conn);
+            crearVersionDatos(stmt);
+
+            // Índices para consultas por rango de fecha y costo, y por editorial
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_fecha ON libros (fecha_lanzamiento)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_costo ON libros (costo)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_editorial ON libros (editorial)");
+
+            // Editoriales por defecto
+            stmt.execute("""
+                INSERT OR IGNORE INTO editoriales (nombre) VALUES
+                    ('Penguin Random House'), ('HarperCollins'), ('Simon & Schuster'),
+                    ('Macmillan'), ('Hachette Livre'), ('Editorial Planeta'),
+                    ('Grupo Santillana'), ('Fondo de Cultura Económica')""");
+        }
+    }
+
+    // Pasa una tabla del esquema anterior (DATE y REAL) a enteros copiándola a una tabla nueva.
+    // Se ejecuta dentro de la transacción de la migración
+    private static void migrarTiposNativos(Connection conn) throws SQLException {
+        String tipoFecha = null;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(libros)")) {
+            while (rs.next()) {
+                if ("fecha_lanzamiento".equals(rs.getString("name"))) {
+                    tipoFecha = rs.getString("type");
                 }
             }
-            System.out.println("✅ Editoriales por defecto insertadas.");
+        }
+        if (!"DATE".equalsIgnoreCase(tipoFecha)) {
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE libros_nueva " + COLUMNAS_LIBROS);
+
+            // setDate guardaba milisegundos; se convierte en Java para respetar la zona horaria del driver
+            String insert = "INSERT INTO libros_nueva (id, nombre_libro, nombre_autor, fecha_lanzamiento, editorial, costo) "
+                    + "VALUES (?,?,?,?,?,?)";
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM libros");
+                 PreparedStatement pstmt = conn.prepareStatement(insert)) {
+                while (rs.next()) {
+                    pstmt.setInt(1, rs.getInt("id"));
+                    pstmt.setString(2, rs.getString("nombre_libro"));
+                    pstmt.setString(3, rs.getString("nombre_autor"));
+                    pstmt.setLong(4, rs.getDate("fecha_lanzamiento").toLocalDate().toEpochDay());
+                    pstmt.setString(5, rs.getString("editorial"));
+                    pstmt.setLong(6, aCentavos(rs.getDouble("costo")));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            // Conservar el contador de AUTOINCREMENT para no reutilizar IDs borrados
+            stmt.execute("DELETE FROM sqlite_sequence WHERE name = 'libros_nueva'");
+            stmt.execute("INSERT INTO sqlite_sequence (name, seq) SELECT 'libros_nueva', seq FROM sqlite_sequence WHERE name = 'libros'");
+            // Los triggers del índice se van con la tabla; crearIndiceTextoCompleto los vuelve a crear
+            stmt.execute("DROP TABLE IF EXISTS libros_fts");
+            stmt.execute("DROP TABLE libros");
+            stmt.execute("ALTER TABLE libros_nueva RENAME TO libros");
+            LOG.info("✅ Tabla libros migrada a fechas y costos enteros.");
+        }
+    }
+
+    private static long aCentavos(double costo) {
+        return Math.round(costo * 100);
+    }
+
+    // Índice FTS5 para buscarLibros, sincronizado con triggers
+    private static void crearIndiceTextoCompleto(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'libros_fts'")) {
+            if (rs.next()) {
+                return;
+            }
+        }
 
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE VIRTUAL TABLE libros_fts USING fts5(
+                    nombre_libro, nombre_autor, editorial,
+                    content='libros', content_rowid='id',
+                    tokenize='unicode61 remove_diacritics 2'
+                )""");
+            stmt.execute("""
+                CREATE TRIGGER libros_fts_ai AFTER INSERT ON libros BEGIN
+                    INSERT INTO libros_fts (rowid, nombre_libro, nombre_autor, editorial)
+                    VALUES (new.id, new.nombre_libro, new.nombre_autor, new.editorial);
+                END""");
+            stmt.execute("""
+                CREATE TRIGGER libros_fts_ad AFTER DELETE ON libros BEGIN
+                    INSERT INTO libros_fts (libros_fts, rowid, nombre_libro, nombre_autor, editorial)
+                    VALUES ('delete', old.id, old.nombre_libro, old.nombre_autor, old.editorial);
+                END""");
+            stmt.execute("""
+                CREATE TRIGGER libros_fts_au AFTER UPDATE OF nombre_libro, nombre_autor, editorial ON libros BEGIN
+                    INSERT INTO libros_fts (libros_fts, rowid, nombre_libro, nombre_autor, editorial)
+                    VALUES ('delete', old.id, old.nombre_libro, old.nombre_autor, old.editorial);
+                    INSERT INTO libros_fts (rowid, nombre_libro, nombre_autor, editorial)
+                    VALUES (new.id, new.nombre_libro, new.nombre_autor, new.editorial);
+                END""");
+            // Indexar los libros existentes
+            stmt.execute("INSERT INTO libros_fts (libros_fts) VALUES ('rebuild')");
+            LOG.info("✅ Índice de texto completo creado.");
+        }
+    }
+
+    // Contador de cambios de libros: los triggers lo incrementan en cada INSERT, UPDATE o
+    // DELETE, venga de esta aplicación o de otro proceso (ver obtenerVersionDatos)
+    private static void crearVersionDatos(Statement stmt) throws SQLException {
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS version_datos (
+                id INTEGER PRIMARY KEY CHECK (id = 1),
+                valor INTEGER NOT NULL
+            )""");
+        stmt.execute("INSERT OR IGNORE INTO version_datos (id, valor) VALUES (1, 0)");
+        for (String evento : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS version_datos_" + evento.toLowerCase()
+                    + " AFTER " + evento + " ON libros BEGIN"
+                    + " UPDATE version_datos SET valor = valor + 1 WHERE id = 1; END");
+        }
+    }
+
+    // Versión actual de los datos de libros; cambia con cada escritura (-1 si hay error).
+    // Cuesta leer una fila: sirve para saber si una respuesta guardada sigue vigente
+    public static long obtenerVersionDatos() {
+        long inicio = System.nanoTime();
+
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT valor FROM version_datos WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
         } catch (SQLException e) {
-            System.out.println("❌ Error al crear tablas: " + e.getMessage());
+            ERRORES_VERSION.increment();
+            LOG.error("❌ Error al obtener la versión de los datos: {}", e.getMessage());
+            return -1;
+        } finally {
+            TIEMPO_VERSION.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Convierte el criterio en una expresión MATCH: cada palabra como prefijo
+    private static String consultaTextoCompleto(String criterio) {
+        StringBuilder consulta = new StringBuilder();
+        for (String token : criterio.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                if (consulta.length() > 0) consulta.append(' ');
+                consulta.append('"').append(token).append("\"*");
+            }
         }
+        return consulta.toString();
     }
 
-    // CRUD: Create (Insertar libro)
-    public static void insertarLibro(Libro libro) {
-        String sql = "INSERT INTO libros(nombre_libro, nombre_autor, fecha_lanzamiento, editorial, costo) VALUES(?,?,?,?,?)";
+    private static final String SQL_INSERTAR =
+            "INSERT INTO libros(nombre_libro, nombre_autor, fecha_lanzamiento, editorial, costo) VALUES(?,?,?,?,?)";
+
+    private static void asignarParametros(PreparedStatement pstmt, Libro libro) throws SQLException {
+        pstmt.setString(1, libro.getNombreLibro());
+        pstmt.setString(2, libro.getNombreAutor());
+        pstmt.setLong(3, libro.getFechaLanzamiento().toEpochDay());
+        pstmt.setString(4, libro.getEditorial());
+        pstmt.setLong(5, aCentavos(libro.getCosto()));
+    }
+
+    // CRUD: Create (Insertar libro). Devuelve el ID asignado (también queda en el libro) o -1 si falla
+    public static int insertarLibro(Libro libro) {
+        long inicio = System.nanoTime();
+        int id = -1;
 
         try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, libro.getNombreLibro());
-            pstmt.setString(2, libro.getNombreAutor());
-            pstmt.setDate(3, Date.valueOf(libro.getFechaLanzamiento()));
-            pstmt.setString(4, libro.getEditorial());
-            pstmt.setDouble(5, libro.getCosto());
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+            asignarParametros(pstmt, libro);
             pstmt.executeUpdate();
-            System.out.println("✅ Libro insertado: " + libro.getNombreLibro());
+            try (ResultSet claves = pstmt.getGeneratedKeys()) {
+                if (claves.next()) {
+                    id = claves.getInt(1);
+                    libro.setId(id);
+                }
+            }
+            LOG.debug("✅ Libro insertado: {}", libro.getNombreLibro());
         } catch (SQLException e) {
-            System.out.println("❌ Error al insertar: " + e.getMessage());
+            ERRORES_INSERTAR.increment();
+            LOG.error("❌ Error al insertar: {}", e.getMessage());
+        } finally {
+            TIEMPO_INSERTAR.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        return id;
+    }
+
+    // Insertar varios libros en una sola transacción; asigna los IDs a cada libro.
+    // Devuelve cuántos se insertaron: todos, o 0 si alguno falla (no queda ninguno)
+    public static int insertarLibros(List<Libro> libros) {
+        long inicio = System.nanoTime();
+        if (libros.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR);
+                 Statement stmt = conn.createStatement()) {
+                for (Libro libro : libros) {
+                    asignarParametros(pstmt, libro);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+
+                // La transacción tiene el bloqueo de escritura: los IDs son consecutivos y terminan en el último
+                long ultimo;
+                try (ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                    rs.next();
+                    ultimo = rs.getLong(1);
+                }
+                conn.commit();
+                long primero = ultimo - libros.size() + 1;
+                for (int i = 0; i < libros.size(); i++) {
+                    libros.get(i).setId((int) (primero + i));
+                }
+                FILAS_INSERTAR_LOTE.increment(libros.size());
+                LOG.debug("✅ {} libros insertados.", libros.size());
+                return libros.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            ERRORES_INSERTAR_LOTE.increment();
+            LOG.error("❌ Error al insertar lote: {}", e.getMessage());
+            return 0;
+        } finally {
+            TIEMPO_INSERTAR_LOTE.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
     }
 
     // CRUD: Read (Obtener todos los libros)
     public static List<Libro> obtenerTodosLibros() {
-        String sql = "SELECT * FROM libros ORDER BY nombre_libro";
+        long inicio = System.nanoTime();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros ORDER BY nombre_libro";
         List<Libro> libros = new ArrayList<>();
 
         try (Connection conn = connect();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
             while (rs.next()) {
-                Libro libro = new Libro();
-                libro.setId(rs.getInt("id"));
-                libro.setNombreLibro(rs.getString("nombre_libro"));
-                libro.setNombreAutor(rs.getString("nombre_autor"));
-                libro.setFechaLanzamiento(rs.getDate("fecha_lanzamiento").toLocalDate());
-                libro.setEditorial(rs.getString("editorial"));
-                libro.setCosto(rs.getDouble("costo"));
-                libros.add(libro);
+                libros.add(mapeador.mapear(rs));
+            }
+            FILAS_OBTENER_TODOS.increment(libros.size());
+        } catch (SQLException e) {
+            ERRORES_OBTENER_TODOS.increment();
+            LOG.error("❌ Error al obtener libros: {}", e.getMessage());
+        } finally {
+            TIEMPO_OBTENER_TODOS.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        return libros;
+    }
+
+    // Página de libros por ID ascendente a partir del último ID visto (0 para la primera).
+    // Recorre el índice del ID desde ese punto: cada página cuesta lo mismo sin importar su posición.
+    // Un error se propaga: una página vacía por error se leería como el final del catálogo
+    public static List<Libro> obtenerPagina(int despuesDeId, int tamano) throws SQLException {
+        long inicio = System.nanoTime();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE id > ? ORDER BY id LIMIT ?";
+        List<Libro> libros = new ArrayList<>(tamano);
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, despuesDeId);
+            pstmt.setInt(2, tamano);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorLibro mapeador = new MapeadorLibro(rs);
+                while (rs.next()) {
+                    libros.add(mapeador.mapear(rs));
+                }
             }
+            FILAS_OBTENER_PAGINA.increment(libros.size());
         } catch (SQLException e) {
-            System.out.println("❌ Error al obtener libros: " + e.getMessage());
+            ERRORES_OBTENER_PAGINA.increment();
+            LOG.error("❌ Error al obtener página: {}", e.getMessage());
+            throw e;
+        } finally {
+            TIEMPO_OBTENER_PAGINA.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
         return libros;
     }
 
+    // Recorre los libros por ID ascendente a partir del último ID visto, con un cursor que
+    // avanza fila por fila: en memoria solo está el libro actual, sin importar el tamaño de la tabla.
+    // El cursor solo avanza cuando el consumidor termina, así que un consumidor lento (por ejemplo
+    // uno que escribe en la red) frena la lectura. Si el consumidor falla se cierra el cursor y se
+    // propaga su excepción. Devuelve los libros entregados, o -1 si falla la base de datos
+    public static long recorrerLibros(int despuesDeId, ConsumidorLibro consumidor) throws IOException {
+        long inicio = System.nanoTime();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE id > ? ORDER BY id";
+        long filas = 0;
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setInt(1, despuesDeId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorLibro mapeador = new MapeadorLibro(rs);
+                while (rs.next()) {
+                    consumidor.aceptar(mapeador.mapear(rs));
+                    filas++;
+                }
+            }
+            return filas;
+        } catch (SQLException e) {
+            ERRORES_RECORRER.increment();
+            LOG.error("❌ Error al recorrer libros: {}", e.getMessage());
+            return -1;
+        } finally {
+            FILAS_RECORRER.increment(filas);
+            TIEMPO_RECORRER.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Obtener un libro por ID (null si no existe; un error se propaga)
+    public static Libro obtenerLibro(int id) throws SQLException {
+        long inicio = System.nanoTime();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE id = ?";
+
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? new MapeadorLibro(rs).mapear(rs) : null;
+            }
+        } catch (SQLException e) {
+            ERRORES_OBTENER_LIBRO.increment();
+            LOG.error("❌ Error al obtener libro: {}", e.getMessage());
+            throw e;
+        } finally {
+            TIEMPO_OBTENER_LIBRO.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
     // Obtener editoriales para ComboBox
     public static List<String> obtenerEditoriales() {
+        long inicio = System.nanoTime();
         String sql = "SELECT nombre FROM editoriales ORDER BY nombre";
         List<String> editoriales = new ArrayList<>();
 
@@ -120,71 +482,111 @@ public class Database {
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                editoriales.add(rs.getString("nombre"));
+                editoriales.add(TablaSimbolos.EDITORIALES.canonico(rs.getString("nombre")));
             }
         } catch (SQLException e) {
-            System.out.println("❌ Error al obtener editoriales: " + e.getMessage());
+            ERRORES_EDITORIALES.increment();
+            LOG.error("❌ Error al obtener editoriales: {}", e.getMessage());
+        } finally {
+            TIEMPO_EDITORIALES.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
         return editoriales;
     }
 
-    // CRUD: Update (Actualizar libro)
-    public static void actualizarLibro(Libro libro) {
+    // CRUD: Update (Actualizar libro). Devuelve false si no existe o hay error
+    public static boolean actualizarLibro(Libro libro) {
+        long inicio = System.nanoTime();
         String sql = "UPDATE libros SET nombre_libro = ?, nombre_autor = ?, "
                 + "fecha_lanzamiento = ?, editorial = ?, costo = ? WHERE id = ?";
 
         try (Connection conn = connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, libro.getNombreLibro());
-            pstmt.setString(2, libro.getNombreAutor());
-            pstmt.setDate(3, Date.valueOf(libro.getFechaLanzamiento()));
-            pstmt.setString(4, libro.getEditorial());
-            pstmt.setDouble(5, libro.getCosto());
+            asignarParametros(pstmt, libro);
             pstmt.setInt(6, libro.getId());
-            pstmt.executeUpdate();
-            System.out.println("✅ Libro actualizado: " + libro.getNombreLibro());
+            boolean actualizado = pstmt.executeUpdate() > 0;
+            // Sin filas afectadas el libro no existe (404 en la API): no es un éxito
+            if (actualizado) {
+                LOG.debug("✅ Libro actualizado: {}", libro.getNombreLibro());
+            }
+            return actualizado;
         } catch (SQLException e) {
-            System.out.println("❌ Error al actualizar: " + e.getMessage());
+            ERRORES_ACTUALIZAR.increment();
+            LOG.error("❌ Error al actualizar: {}", e.getMessage());
+            return false;
+        } finally {
+            TIEMPO_ACTUALIZAR.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
     }
 
-    // CRUD: Delete (Eliminar libro)
-    public static void eliminarLibro(int id) {
+    // CRUD: Delete (Eliminar libro). Devuelve false si no existe o hay error
+    public static boolean eliminarLibro(int id) {
+        long inicio = System.nanoTime();
         String sql = "DELETE FROM libros WHERE id = ?";
 
         try (Connection conn = connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
-            pstmt.executeUpdate();
-            System.out.println("✅ Libro eliminado ID: " + id);
+            boolean eliminado = pstmt.executeUpdate() > 0;
+            if (eliminado) {
+                LOG.debug("✅ Libro eliminado ID: {}", id);
+            }
+            return eliminado;
         } catch (SQLException e) {
-            System.out.println("❌ Error al eliminar: " + e.getMessage());
+            ERRORES_ELIMINAR.increment();
+            LOG.error("❌ Error al eliminar: {}", e.getMessage());
+            return false;
+        } finally {
+            TIEMPO_ELIMINAR.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
     }
 
-    // Buscar libros por nombre o autor
-    public static List<Libro> buscarLibros(String criterio) {
-        String sql = "SELECT * FROM libros WHERE nombre_libro LIKE ? OR nombre_autor LIKE ? ORDER BY nombre_libro";
+    // Buscar libros por nombre, autor o editorial con el índice FTS5: cada palabra del criterio
+    // se busca como prefijo de palabra, sin distinguir acentos, y el resultado va por relevancia.
+    // Si el criterio no tiene ninguna palabra que indexar (vacío o solo signos, como "%" o "-"),
+    // se busca por subcadena en las mismas columnas, igual que LibroDAO.buscar en la aplicación de escritorio.
+    // Un error se propaga en lugar de devolver una lista vacía
+    public static List<Libro> buscarLibros(String criterio) throws SQLException {
+        return buscarLibros(criterio, -1);
+    }
+
+    // Igual, pero solo los primeros resultados (-1 para todos)
+    public static List<Libro> buscarLibros(String criterio, int limite) throws SQLException {
+        long inicio = System.nanoTime();
         List<Libro> libros = new ArrayList<>();
 
+        String consulta = consultaTextoCompleto(criterio);
+        boolean textoCompleto = !consulta.isEmpty();
+        String sql = textoCompleto
+                ? "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros_fts JOIN libros ON libros.id = libros_fts.rowid "
+                        + "WHERE libros_fts MATCH ? ORDER BY bm25(libros_fts, 10.0, 5.0, 1.0) LIMIT ?"
+                : "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros "
+                        + "WHERE nombre_libro LIKE ? OR nombre_autor LIKE ? OR editorial LIKE ? ORDER BY nombre_libro LIMIT ?";
+
         try (Connection conn = connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, "%" + criterio + "%");
-            pstmt.setString(2, "%" + criterio + "%");
-            ResultSet rs = pstmt.executeQuery();
+            if (textoCompleto) {
+                pstmt.setString(1, consulta);
+                pstmt.setInt(2, limite);
+            } else {
+                pstmt.setString(1, "%" + criterio + "%");
+                pstmt.setString(2, "%" + criterio + "%");
+                pstmt.setString(3, "%" + criterio + "%");
+                pstmt.setInt(4, limite);
+            }
 
-            while (rs.next()) {
-                Libro libro = new Libro();
-                libro.setId(rs.getInt("id"));
-                libro.setNombreLibro(rs.getString("nombre_libro"));
-                libro.setNombreAutor(rs.getString("nombre_autor"));
-                libro.setFechaLanzamiento(rs.getDate("fecha_lanzamiento").toLocalDate());
-                libro.setEditorial(rs.getString("editorial"));
-                libro.setCosto(rs.getDouble("costo"));
-                libros.add(libro);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorLibro mapeador = new MapeadorLibro(rs);
+                while (rs.next()) {
+                    libros.add(mapeador.mapear(rs));
+                }
             }
+            FILAS_BUSCAR.increment(libros.size());
         } catch (SQLException e) {
-            System.out.println("❌ Error al buscar: " + e.getMessage());
+            ERRORES_BUSCAR.increment();
+            LOG.error("❌ Error al buscar: {}", e.getMessage());
+            throw e;
+        } finally {
+            TIEMPO_BUSCAR.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
         return libros;
     }
@@ -17,9 +17,9 @@ public class Libro {
     public Libro(String nombreLibro, String nombreAutor, LocalDate fechaLanzamiento,
                  String editorial, double costo) {
         this.nombreLibro = nombreLibro;
-        this.nombreAutor = nombreAutor;
+        this.nombreAutor = TablaSimbolos.AUTORES.canonico(nombreAutor);
         this.fechaLanzamiento = fechaLanzamiento;
-        this.editorial = editorial;
+        this.editorial = TablaSimbolos.EDITORIALES.canonico(editorial);
         this.costo = costo;
     }
 
@@ -28,9 +28,9 @@ public class Libro {
                  String editorial, double costo) {
         this.id = id;
         this.nombreLibro = nombreLibro;
-        this.nombreAutor = nombreAutor;
+        this.nombreAutor = TablaSimbolos.AUTORES.canonico(nombreAutor);
         this.fechaLanzamiento = fechaLanzamiento;
-        this.editorial = editorial;
+        this.editorial = TablaSimbolos.EDITORIALES.canonico(editorial);
         this.costo = costo;
     }
 
@@ -56,7 +56,7 @@ public class Libro {
     }
 
     public void setNombreAutor(String nombreAutor) {
-        this.nombreAutor = nombreAutor;
+        this.nombreAutor = TablaSimbolos.AUTORES.canonico(nombreAutor);
     }
 
     public LocalDate getFechaLanzamiento() {
@@ -72,7 +72,7 @@ public class Libro {
     }
 
     public void setEditorial(String editorial) {
-        this.editorial = editorial;
+        this.editorial = TablaSimbolos.EDITORIALES.canonico(editorial);
     }
 
     public double getCosto() {
@@ -0,0 +1,52 @@
+package com.libreria.app_libros.models;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+// Convierte filas de libros en objetos Libro leyendo por índice; se crea una vez por consulta
+final class MapeadorLibro {
+
+    static final String COLUMNAS = "libros.id, libros.nombre_libro, libros.nombre_autor, "
+            + "libros.fecha_lanzamiento, libros.editorial, libros.costo";
+
+    // Muchos libros comparten fecha y LocalDate es inmutable: se reutilizan las instancias
+    private static final int TAMANO_CACHE_FECHAS = 1 << 16;
+    private static final LocalDate[] CACHE_FECHAS = new LocalDate[TAMANO_CACHE_FECHAS];
+
+    private final int columnaId;
+    private final int columnaNombre;
+    private final int columnaAutor;
+    private final int columnaFecha;
+    private final int columnaEditorial;
+    private final int columnaCosto;
+
+    MapeadorLibro(ResultSet rs) throws SQLException {
+        columnaId = rs.findColumn("id");
+        columnaNombre = rs.findColumn("nombre_libro");
+        columnaAutor = rs.findColumn("nombre_autor");
+        columnaFecha = rs.findColumn("fecha_lanzamiento");
+        columnaEditorial = rs.findColumn("editorial");
+        columnaCosto = rs.findColumn("costo");
+    }
+
+    Libro mapear(ResultSet rs) throws SQLException {
+        return new Libro(
+                rs.getInt(columnaId),
+                rs.getString(columnaNombre),
+                rs.getString(columnaAutor),
+                fecha(rs.getLong(columnaFecha)),
+                rs.getString(columnaEditorial),
+                rs.getLong(columnaCosto) / 100.0);
+    }
+
+    private static LocalDate fecha(long diaEpoca) {
+        int posicion = (int) Math.floorMod(diaEpoca, (long) TAMANO_CACHE_FECHAS);
+        LocalDate fecha = CACHE_FECHAS[posicion];
+        if (fecha == null || fecha.toEpochDay() != diaEpoca) {
+            fecha = LocalDate.ofEpochDay(diaEpoca);
+            CACHE_FECHAS[posicion] = fecha;
+        }
+        return fecha;
+    }
+}
@@ -0,0 +1,43 @@
+package com.libreria.app_libros.models;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import io.micrometer.jmx.JmxConfig;
+import io.micrometer.jmx.JmxMeterRegistry;
+
+// Métricas de acceso a datos: latencia (con percentiles), errores y filas por operación.
+// Se publican por JMX y cada minuto en el log (LoggingMeterRegistry).
+public class Metricas {
+    public static final MeterRegistry REGISTRO = crearRegistro();
+
+    private static MeterRegistry crearRegistro() {
+        CompositeMeterRegistry registro = new CompositeMeterRegistry();
+        registro.add(new JmxMeterRegistry(JmxConfig.DEFAULT, Clock.SYSTEM));
+        registro.add(new LoggingMeterRegistry());
+        return registro;
+    }
+
+    // Tiempo de una operación de Database ("libros.db" con la etiqueta operacion)
+    public static Timer temporizador(String operacion) {
+        return Timer.builder("libros.db")
+                .tag("operacion", operacion)
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .register(REGISTRO);
+    }
+
+    public static Counter errores(String operacion) {
+        return Counter.builder("libros.db.errores")
+                .tag("operacion", operacion)
+                .register(REGISTRO);
+    }
+
+    public static Counter filas(String operacion) {
+        return Counter.builder("libros.db.filas")
+                .tag("operacion", operacion)
+                .register(REGISTRO);
+    }
+}
@@ -0,0 +1,34 @@
+package com.libreria.app_libros.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Devuelve una única instancia de cada texto repetido (editoriales, autores), para que
+// los libros cargados no guarden cada uno su propia copia. Segura entre hilos; al llegar
+// a su capacidad deja de agregar textos nuevos y los devuelve tal cual.
+final class TablaSimbolos {
+
+    static final TablaSimbolos EDITORIALES = new TablaSimbolos(1_000);
+    static final TablaSimbolos AUTORES = new TablaSimbolos(100_000);
+
+    private final ConcurrentHashMap<String, String> simbolos = new ConcurrentHashMap<>();
+    private final int capacidad;
+
+    private TablaSimbolos(int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    String canonico(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String existente = simbolos.get(texto);
+        if (existente != null) {
+            return existente;
+        }
+        if (simbolos.size() >= capacidad) {
+            return texto;
+        }
+        existente = simbolos.putIfAbsent(texto, texto);
+        return existente != null ? existente : texto;
+    }
+}
@@ -0,0 +1,81 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.dao.ResultadoLote;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Prepara el archivo SQLite sobre el que corre cada benchmark.
+ *
+ * ConexionDB lee la URL una sola vez por JVM; JMH ejecuta cada combinación de
+ * parámetros en su propio proceso, así que basta con fijar la propiedad antes
+ * del primer uso del DAO.
+ */
+public final class BaseDatosBenchmark {
+
+    private static final Path DIRECTORIO = Paths.get(System.getProperty("java.io.tmpdir"), "biblioteca-benchmarks");
+
+    private BaseDatosBenchmark() {}
+
+    /**
+     * Usa una base con exactamente "filas" libros generados por GeneradorDatos.
+     * La base se conserva entre ejecuciones y solo se completa si le faltan filas.
+     */
+    public static LibroDAO conFilas(long filas) {
+        LibroDAO dao = usarArchivo(DIRECTORIO.resolve("libros-" + filas + ".db"));
+
+        long existentes = contar(dao);
+        if (existentes > filas) {
+            throw new IllegalStateException("La base de " + filas + " filas tiene " + existentes
+                    + "; bórrela de " + DIRECTORIO);
+        }
+        if (existentes < filas) {
+            // Una base vacía se llena con la carga masiva (índices reconstruidos al final)
+            ResultadoLote resultado = existentes == 0
+                    ? dao.insertarLoteMasivo(GeneradorDatos.libros(0, filas)::iterator, 10_000)
+                    : dao.insertarLote(GeneradorDatos.libros(existentes, filas), 10_000);
+            if (resultado.getErrorGeneral() != null || !resultado.getFallos().isEmpty()) {
+                throw new IllegalStateException("No se pudo preparar la base: " + resultado);
+            }
+        }
+        return dao;
+    }
+
+    /**
+     * Usa una base nueva y vacía (para medir escrituras)
+     */
+    public static LibroDAO vacia() {
+        try {
+            Files.createDirectories(DIRECTORIO);
+            Path archivo = Files.createTempFile(DIRECTORIO, "escrituras-", ".db");
+            Files.delete(archivo);
+            for (String sufijo : new String[]{"", "-wal", "-shm"}) {
+                Paths.get(archivo + sufijo).toFile().deleteOnExit();
+            }
+            return usarArchivo(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LibroDAO usarArchivo(Path archivo) {
+        try {
+            Files.createDirectories(archivo.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.setProperty("biblioteca.db.url", "jdbc:sqlite:" + archivo.toAbsolutePath());
+        return new LibroDAO();
+    }
+
+    private static long contar(LibroDAO dao) {
+        // La página más reciente da el ID máximo; los IDs de GeneradorDatos son 1..n sin huecos
+        var pagina = dao.obtenerPagina(0, 1);
+        return pagina.isEmpty() ? 0 : pagina.get(0).getId();
+    }
+}
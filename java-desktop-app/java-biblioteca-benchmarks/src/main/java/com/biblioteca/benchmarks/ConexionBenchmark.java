@@ -0,0 +1,56 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.database.ConexionDB;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de obtener y devolver una conexión, comparado con abrir una nueva
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConexionBenchmark {
+
+    private String url;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        BaseDatosBenchmark.conFilas(1_000);
+        url = System.getProperty("biblioteca.db.url");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionDB.cerrar();
+    }
+
+    @Benchmark
+    public boolean conexionLectura() throws SQLException {
+        try (Connection conexion = ConexionDB.getConexion()) {
+            return conexion.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    public boolean conexionEscritura() throws SQLException {
+        try (Connection conexion = ConexionDB.getConexionEscritura()) {
+            return conexion.getAutoCommit();
+        }
+    }
+
+    /** Referencia: lo que costaba cada llamada al DAO antes del pool */
+    @Benchmark
+    public boolean conexionSinPool() throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(url)) {
+            return conexion.getAutoCommit();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.dao.ListaVersionada;
+import com.biblioteca.database.ConexionDB;
+import com.biblioteca.modelo.Libro;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de LibroDAO sobre bases de distinto tamaño
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ConsultaBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int filas;
+
+    private LibroDAO dao;
+    private long version;
+    private final SplittableRandom aleatorio = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dao = BaseDatosBenchmark.conFilas(filas);
+        version = dao.obtenerVersionDatos();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionDB.cerrar();
+    }
+
+    @Benchmark
+    public List<Libro> obtenerTodos() {
+        return dao.obtenerTodos();
+    }
+
+    /** Consulta condicional sin cambios: solo se lee la versión */
+    @Benchmark
+    public ListaVersionada obtenerTodosSinCambios() {
+        return dao.obtenerTodosSiCambio(version);
+    }
+
+    @Benchmark
+    public Libro obtenerPorId() {
+        return dao.obtenerPorId(1 + aleatorio.nextInt(filas));
+    }
+
+    @Benchmark
+    public List<Libro> buscarAcierto() {
+        return dao.buscar(GeneradorDatos.TERMINO_ACIERTO);
+    }
+
+    @Benchmark
+    public List<Libro> buscarFallo() {
+        return dao.buscar(GeneradorDatos.TERMINO_FALLO);
+    }
+}
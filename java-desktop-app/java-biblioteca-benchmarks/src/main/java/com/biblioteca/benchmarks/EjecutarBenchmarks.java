@@ -0,0 +1,27 @@
+package com.biblioteca.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ *
+ * Igual que org.openjdk.jmh.Main, pero si no se indica formato de resultados
+ * los guarda en JSON (resultados-AAAAMMDD-HHMMSS.json) para compararlos entre commits.
+ */
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentos = new ArrayList<>(Arrays.asList(args));
+
+        if (!argumentos.contains("-rf")) {
+            String fecha = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            argumentos.addAll(List.of("-rf", "json", "-rff", "resultados-" + fecha + ".json"));
+        }
+
+        org.openjdk.jmh.Main.main(argumentos.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,74 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.modelo.Libro;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Genera libros de prueba deterministas: el libro i siempre es el mismo,
+ * así que dos ejecuciones (o dos commits) miden exactamente los mismos datos.
+ */
+public class GeneradorDatos {
+
+    static final String[] NOMBRES = {
+        "Gabriel", "Isabel", "Julio", "Laura", "Mario", "Elena", "Jorge", "Rosa", "Carlos", "Ana",
+        "Pablo", "Clara", "Miguel", "Lucia", "Octavio", "Sara", "Roberto", "Carmen", "Javier", "Marta"
+    };
+
+    static final String[] APELLIDOS = {
+        "Garcia", "Allende", "Cortazar", "Esquivel", "Vargas", "Poniatowska", "Borges", "Castellanos",
+        "Fuentes", "Mastretta", "Neruda", "Morales", "Cervantes", "Rulfo", "Paz", "Montero",
+        "Bolano", "Ocampo", "Marias", "Benedetti"
+    };
+
+    static final String[] PALABRAS = {
+        "amor", "tiempo", "ciudad", "noche", "mar", "sombra", "casa", "camino", "silencio", "viento",
+        "memoria", "fuego", "jardin", "rio", "luz", "invierno", "puerta", "espejo", "isla", "sueno"
+    };
+
+    static final String[] EDITORIALES = {
+        "Penguin Random House", "Editorial Planeta", "Santillana", "Alfaguara", "Anagrama",
+        "Salamandra", "Tusquets Editores", "Seix Barral", "Espasa", "McGraw-Hill"
+    };
+
+    /** Término que aparece en muchos libros (apellido de autor) */
+    public static final String TERMINO_ACIERTO = "cortazar";
+
+    /** Término que no aparece en ningún libro */
+    public static final String TERMINO_FALLO = "zzyzx";
+
+    private static final long SEMILLA = 0x5EED_B1B1L;
+    private static final LocalDate FECHA_BASE = LocalDate.of(1900, 1, 1);
+
+    private GeneradorDatos() {}
+
+    /**
+     * Libro número i (desde 0), sin ID
+     */
+    public static Libro libro(long i) {
+        SplittableRandom r = new SplittableRandom(SEMILLA ^ (i * 0x9E3779B97F4A7C15L));
+
+        String nombre = capitalizar(PALABRAS[r.nextInt(PALABRAS.length)]) + " de "
+                + PALABRAS[r.nextInt(PALABRAS.length)] + " " + i;
+        String autor = NOMBRES[r.nextInt(NOMBRES.length)] + " " + APELLIDOS[r.nextInt(APELLIDOS.length)];
+        LocalDate fecha = FECHA_BASE.plusDays(r.nextInt(45_000));
+        String editorial = EDITORIALES[r.nextInt(EDITORIALES.length)];
+        double costo = r.nextInt(100, 200_000) / 100.0;
+
+        return new Libro(nombre, autor, fecha, editorial, costo);
+    }
+
+    /**
+     * Libros desde..hasta (hasta excluido), generados bajo demanda
+     */
+    public static Stream<Libro> libros(long desde, long hasta) {
+        return LongStream.range(desde, hasta).mapToObj(GeneradorDatos::libro);
+    }
+
+    private static String capitalizar(String palabra) {
+        return Character.toUpperCase(palabra.charAt(0)) + palabra.substring(1);
+    }
+}
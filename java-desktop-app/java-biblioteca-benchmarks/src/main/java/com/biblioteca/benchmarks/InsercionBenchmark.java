@@ -0,0 +1,50 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.dao.ResultadoLote;
+import com.biblioteca.database.ConexionDB;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción individual frente a inserción por lotes, sobre una base vacía
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercionBenchmark {
+
+    @Param({"1000"})
+    public int tamanoLote;
+
+    private LibroDAO dao;
+    private long siguiente = 0;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dao = BaseDatosBenchmark.vacia();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionDB.cerrar();
+    }
+
+    @Benchmark
+    public boolean insertar() {
+        return dao.insertar(GeneradorDatos.libro(siguiente++));
+    }
+
+    /** Tiempo por lote completo; dividir entre tamanoLote para el costo por fila */
+    @Benchmark
+    public long insertarLote() {
+        long desde = siguiente;
+        siguiente += tamanoLote;
+        ResultadoLote resultado = dao.insertarLote(GeneradorDatos.libros(desde, siguiente), tamanoLote);
+        return resultado.getInsertados();
+    }
+}
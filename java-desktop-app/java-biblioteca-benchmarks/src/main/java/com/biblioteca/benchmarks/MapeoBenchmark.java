@@ -0,0 +1,82 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.dao.MapeadorLibro;
+import com.biblioteca.database.ConexionDB;
+import com.biblioteca.modelo.Libro;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de filas a Libro: lectura por nombre de columna (como se hacía en
+ * cada consulta de LibroDAO) frente a MapeadorLibro.
+ *
+ * Para ver los bytes asignados por fila, ejecutar con el perfilador de GC y
+ * dividir gc.alloc.rate.norm entre "filas":
+ * <pre>
+ * java -jar target/benchmarks.jar MapeoBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoBenchmark {
+
+    @Param({"10000"})
+    public int filas;
+
+    private Connection conexion;
+    private PreparedStatement todasLasColumnas;
+    private PreparedStatement columnasExplicitas;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        BaseDatosBenchmark.conFilas(filas);
+        conexion = ConexionDB.getConexion();
+        todasLasColumnas = conexion.prepareStatement("SELECT * FROM libros");
+        columnasExplicitas = conexion.prepareStatement("SELECT " + MapeadorLibro.COLUMNAS + " FROM libros");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws SQLException {
+        todasLasColumnas.close();
+        columnasExplicitas.close();
+        conexion.close();
+        ConexionDB.cerrar();
+    }
+
+    @Benchmark
+    public void porNombreDeColumna(Blackhole bh) throws SQLException {
+        try (ResultSet rs = todasLasColumnas.executeQuery()) {
+            while (rs.next()) {
+                Libro libro = new Libro();
+                libro.setId(rs.getInt("id"));
+                libro.setNombre(rs.getString("nombre"));
+                libro.setAutor(rs.getString("autor"));
+                libro.setFechaLanzamiento(LocalDate.ofEpochDay(rs.getLong("fecha_lanzamiento")));
+                libro.setEditorial(rs.getString("editorial"));
+                libro.setCosto(rs.getLong("costo") / 100.0);
+                bh.consume(libro);
+            }
+        }
+    }
+
+    @Benchmark
+    public void conMapeador(Blackhole bh) throws SQLException {
+        try (ResultSet rs = columnasExplicitas.executeQuery()) {
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
+            while (rs.next()) {
+                bh.consume(mapeador.mapear(rs));
+            }
+        }
+    }
+}
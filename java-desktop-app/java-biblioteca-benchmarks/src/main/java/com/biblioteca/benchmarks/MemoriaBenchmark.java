@@ -0,0 +1,85 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.database.ConexionDB;
+import com.biblioteca.modelo.Libro;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Memoria que ocupa el catálogo completo cargado en una lista, con y sin
+ * TablaSimbolos para el autor y la editorial.
+ *
+ * Además del tiempo de carga informa "bytesPorLibro": el heap retenido por la
+ * lista después de un GC completo, dividido entre el número de libros.
+ * <pre>
+ * java -jar target/benchmarks.jar MemoriaBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class MemoriaBenchmark {
+
+    @Param({"1000000"})
+    public int filas;
+
+    /** Valor de -Dbiblioteca.simbolos */
+    @Param({"true", "false"})
+    public boolean simbolos;
+
+    private LibroDAO dao;
+
+    /**
+     * Contador que JMH muestra junto al tiempo
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memoria {
+        public long bytesPorLibro;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            bytesPorLibro = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Antes de crear el primer Libro: TablaSimbolos lee la propiedad una sola vez
+        System.setProperty("biblioteca.simbolos", String.valueOf(simbolos));
+        dao = BaseDatosBenchmark.conFilas(filas);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionDB.cerrar();
+    }
+
+    @Benchmark
+    public List<Libro> cargarCatalogo(Memoria memoria) {
+        long antes = heapUsado();
+        List<Libro> libros;
+        try (Stream<Libro> todos = dao.recorrerTodos()) {
+            libros = todos.collect(Collectors.toCollection(ArrayList::new));
+        }
+        memoria.bytesPorLibro = (heapUsado() - antes) / libros.size();
+        return libros;
+    }
+
+    private static long heapUsado() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
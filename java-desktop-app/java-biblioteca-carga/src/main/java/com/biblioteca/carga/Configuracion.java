@@ -0,0 +1,153 @@
+package com.biblioteca.carga;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Opciones de la línea de comandos (--opcion valor)
+ */
+public final class Configuracion {
+
+    static final String USO = """
+            Uso: java -jar carga.jar [opciones]   (--ayuda muestra esta lista)
+              --destino URL|dao:ARCHIVO  http://localhost:8080 (app_libros) o dao:libros.db (LibroDAO)
+                                         [dao:<tmp>/biblioteca-carga/libros.db]
+              --tasa N                   operaciones por segundo, constante [200]
+              --duracion S               segundos de medición [30]
+              --calentamiento S          segundos previos que no se cuentan [5]
+              --mezcla TEXTO             pesos de cada operación [lectura=80,escritura=5,busqueda=15]
+              --concurrencia N           operaciones en curso como máximo [64]
+              --filas N                  libros a cargar si el destino está vacío [100000]
+              --terminos A,B,...         términos de búsqueda [%s]
+              --salida DIR               guarda los histogramas (.hgrm) en DIR
+              --p99-maximo MS            falla si el p99 del tiempo de respuesta lo supera
+              --tasa-minima FRACCION     falla si la tasa lograda es menor que FRACCION * tasa
+            """.formatted(LibrosAleatorios.TERMINOS_DEFECTO);
+
+    private String destino = "dao:" + Paths.get(System.getProperty("java.io.tmpdir"), "biblioteca-carga", "libros.db");
+    private double tasa = 200;
+    private int duracion = 30;
+    private int calentamiento = 5;
+    private Mezcla mezcla = Mezcla.desdeTexto("lectura=80,escritura=5,busqueda=15");
+    private int concurrencia = 64;
+    private int filas = 100_000;
+    private List<String> terminos = Arrays.asList(LibrosAleatorios.TERMINOS_DEFECTO.split(","));
+    private Path salida;
+    private double p99Maximo = 0;
+    private double tasaMinima = 0;
+
+    private Configuracion() {}
+
+    /**
+     * @throws IllegalArgumentException si una opción no existe o su valor no es válido
+     */
+    public static Configuracion desdeArgumentos(String[] args) {
+        Configuracion conf = new Configuracion();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + args[i]);
+            }
+            String valor = args[i + 1];
+            switch (args[i]) {
+                case "--destino":
+                    conf.destino = valor;
+                    break;
+                case "--tasa":
+                    conf.tasa = positivo(args[i], Double.parseDouble(valor));
+                    break;
+                case "--duracion":
+                    conf.duracion = (int) positivo(args[i], Integer.parseInt(valor));
+                    break;
+                case "--calentamiento":
+                    conf.calentamiento = Integer.parseInt(valor);
+                    break;
+                case "--mezcla":
+                    conf.mezcla = Mezcla.desdeTexto(valor);
+                    break;
+                case "--concurrencia":
+                    conf.concurrencia = (int) positivo(args[i], Integer.parseInt(valor));
+                    break;
+                case "--filas":
+                    conf.filas = Integer.parseInt(valor);
+                    break;
+                case "--terminos":
+                    conf.terminos = Arrays.asList(valor.split(","));
+                    break;
+                case "--salida":
+                    conf.salida = Paths.get(valor);
+                    break;
+                case "--p99-maximo":
+                    conf.p99Maximo = positivo(args[i], Double.parseDouble(valor));
+                    break;
+                case "--tasa-minima":
+                    conf.tasaMinima = positivo(args[i], Double.parseDouble(valor));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        if (conf.calentamiento < 0) {
+            throw new IllegalArgumentException("--calentamiento no puede ser negativo");
+        }
+        return conf;
+    }
+
+    private static double positivo(String opcion, double valor) {
+        if (!(valor > 0)) {
+            throw new IllegalArgumentException(opcion + " debe ser mayor que 0");
+        }
+        return valor;
+    }
+
+    /**
+     * Crea el objetivo indicado en --destino
+     */
+    public Objetivo crearObjetivo() {
+        if (destino.startsWith("dao:")) {
+            return new ObjetivoDAO(Paths.get(destino.substring(4)), filas, terminos);
+        }
+        if (destino.startsWith("http://") || destino.startsWith("https://")) {
+            return new ObjetivoHttp(URI.create(destino), filas, terminos);
+        }
+        throw new IllegalArgumentException("Destino desconocido: " + destino);
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public double getTasa() {
+        return tasa;
+    }
+
+    public int getDuracion() {
+        return duracion;
+    }
+
+    public int getCalentamiento() {
+        return calentamiento;
+    }
+
+    public Mezcla getMezcla() {
+        return mezcla;
+    }
+
+    public int getConcurrencia() {
+        return concurrencia;
+    }
+
+    public Path getSalida() {
+        return salida;
+    }
+
+    public double getP99Maximo() {
+        return p99Maximo;
+    }
+
+    public double getTasaMinima() {
+        return tasaMinima;
+    }
+}
@@ -0,0 +1,185 @@
+package com.biblioteca.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ejecuta operaciones a tasa constante (lazo abierto) y mide sus latencias.
+ *
+ * Cada operación tiene un instante previsto fijo: inicio + i / tasa. El planificador
+ * la entrega a los trabajadores en ese instante aunque las anteriores no hayan
+ * terminado; si el sistema se atrasa, las operaciones esperan en la cola y esa
+ * espera cuenta en su latencia. Así se evita la omisión coordinada: un generador
+ * que espera cada respuesta antes de enviar la siguiente deja de enviar justo
+ * cuando el sistema va lento, y sus percentiles salen mejores de lo que son.
+ *
+ * Se registran dos latencias por operación, en microsegundos:
+ * <ul>
+ *   <li>respuesta: desde el instante previsto hasta el fin (lo que vería un usuario)</li>
+ *   <li>servicio: desde que un trabajador la empieza hasta el fin</li>
+ * </ul>
+ */
+public final class EjecucionTasaConstante {
+
+    /** Segundos que se espera a las operaciones pendientes al terminar */
+    static final int ESPERA_FINAL = 30;
+
+    private final Objetivo objetivo;
+    private final Configuracion conf;
+
+    private final Map<Operacion, Recorder> respuesta = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, Recorder> servicio = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, Histogram> totalRespuesta = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, Histogram> totalServicio = new EnumMap<>(Operacion.class);
+    // Solo para el avance: lo medido durante el calentamiento no llega a los totales
+    private final Recorder calentamiento = new Recorder(3);
+    private final AtomicInteger primerosErrores = new AtomicInteger();
+
+    private long finCalentamiento;
+
+    public EjecucionTasaConstante(Objetivo objetivo, Configuracion conf) {
+        this.objetivo = objetivo;
+        this.conf = conf;
+        for (Operacion operacion : Operacion.values()) {
+            respuesta.put(operacion, new Recorder(3));
+            servicio.put(operacion, new Recorder(3));
+            errores.put(operacion, new LongAdder());
+            totalRespuesta.put(operacion, new Histogram(3));
+            totalServicio.put(operacion, new Histogram(3));
+        }
+    }
+
+    /**
+     * Ejecuta el calentamiento y la medición; informa el avance cada segundo
+     */
+    public ResultadoCarga ejecutar() throws InterruptedException {
+        ThreadPoolExecutor trabajadores = new ThreadPoolExecutor(conf.getConcurrencia(), conf.getConcurrencia(),
+                0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread hilo = new Thread(r, "carga");
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        ScheduledExecutorService avance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "carga-avance");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        double nanosPorOperacion = 1e9 / conf.getTasa();
+        long inicio = System.nanoTime() + 10_000_000;
+        finCalentamiento = inicio + TimeUnit.SECONDS.toNanos(conf.getCalentamiento());
+        long fin = finCalentamiento + TimeUnit.SECONDS.toNanos(conf.getDuracion());
+
+        avance.scheduleAtFixedRate(() -> informarAvance(inicio, trabajadores), 1, 1, TimeUnit.SECONDS);
+
+        long enviadas = 0;
+        for (long i = 0; ; i++) {
+            long previsto = inicio + (long) (i * nanosPorOperacion);
+            if (previsto >= fin) {
+                break;
+            }
+            esperarHasta(previsto);
+            Operacion operacion = conf.getMezcla().elegir();
+            trabajadores.execute(() -> ejecutarUna(operacion, previsto));
+            if (previsto >= finCalentamiento) {
+                enviadas++;
+            }
+        }
+
+        trabajadores.shutdown();
+        boolean terminaron = trabajadores.awaitTermination(ESPERA_FINAL, TimeUnit.SECONDS);
+        long sinTerminar = terminaron ? 0 : trabajadores.shutdownNow().size() + trabajadores.getActiveCount();
+        avance.shutdownNow();
+        avance.awaitTermination(5, TimeUnit.SECONDS);
+        acumularIntervalo();
+
+        long duracionReal = System.nanoTime() - finCalentamiento;
+        return new ResultadoCarga(conf, objetivo.getDescripcion(), enviadas, sinTerminar, duracionReal,
+                totalRespuesta, totalServicio, contarErrores());
+    }
+
+    private void ejecutarUna(Operacion operacion, long previsto) {
+        long empiezo = System.nanoTime();
+        boolean exito = true;
+        try {
+            objetivo.ejecutar(operacion);
+        } catch (Exception e) {
+            exito = false;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // Solo los primeros: con el sistema caído fallarían todas
+            if (primerosErrores.getAndIncrement() < 5) {
+                System.err.println("Error en " + operacion.getNombre() + ": " + e);
+            }
+        }
+        long termino = System.nanoTime();
+        if (previsto < finCalentamiento) {
+            if (exito) {
+                calentamiento.recordValue(Math.max(0, termino - previsto) / 1_000);
+            }
+        } else if (exito) {
+            respuesta.get(operacion).recordValue(Math.max(0, termino - previsto) / 1_000);
+            servicio.get(operacion).recordValue((termino - empiezo) / 1_000);
+        } else {
+            errores.get(operacion).increment();
+        }
+    }
+
+    // Duerme casi todo el intervalo y espera activamente el último tramo: parkNanos se pasa por decenas de µs
+    private static void esperarHasta(long instante) {
+        long falta;
+        while ((falta = instante - System.nanoTime()) > 0) {
+            if (falta > 200_000) {
+                LockSupport.parkNanos(falta - 100_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void informarAvance(long inicio, ThreadPoolExecutor trabajadores) {
+        Histogram intervalo = acumularIntervalo();
+        long segundos = Math.round((System.nanoTime() - inicio) / 1e9);
+        System.out.printf("%5d s %s %,8d ops/s  p50 %8.2f ms  p99 %8.2f ms  máx %8.2f ms  errores %,d  en cola %,d%n",
+                segundos, System.nanoTime() < finCalentamiento ? "(calentando)" : "            ",
+                intervalo.getTotalCount(),
+                intervalo.getValueAtPercentile(50) / 1000.0,
+                intervalo.getValueAtPercentile(99) / 1000.0,
+                intervalo.getMaxValue() / 1000.0,
+                contarErrores().values().stream().mapToLong(Long::longValue).sum(),
+                trabajadores.getQueue().size());
+    }
+
+    // Pasa lo registrado desde la última vez a los totales; devuelve la respuesta de todas las operaciones
+    private synchronized Histogram acumularIntervalo() {
+        Histogram todas = calentamiento.getIntervalHistogram();
+        for (Operacion operacion : Operacion.values()) {
+            Histogram r = respuesta.get(operacion).getIntervalHistogram();
+            totalRespuesta.get(operacion).add(r);
+            totalServicio.get(operacion).add(servicio.get(operacion).getIntervalHistogram());
+            todas.add(r);
+        }
+        return todas;
+    }
+
+    private Map<Operacion, Long> contarErrores() {
+        Map<Operacion, Long> cuenta = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            cuenta.put(operacion, errores.get(operacion).sum());
+        }
+        return cuenta;
+    }
+}
@@ -0,0 +1,64 @@
+package com.biblioteca.carga;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Punto de entrada de carga.jar: genera carga a tasa constante contra app_libros
+ * o LibroDAO y muestra las latencias.
+ *
+ * <pre>
+ * java -jar target/carga.jar --destino http://localhost:8080 --tasa 1000 --duracion 60
+ * java -jar target/carga.jar --destino dao:/tmp/libros.db --mezcla lectura=50,escritura=50
+ * java -jar target/carga.jar --tasa 500 --p99-maximo 20 --tasa-minima 0.99   # falla (código 1) si no cumple
+ * </pre>
+ */
+public final class GeneradorCarga {
+
+    private GeneradorCarga() {}
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--ayuda")) {
+            System.out.print(Configuracion.USO);
+            return;
+        }
+        Configuracion conf;
+        try {
+            conf = Configuracion.desdeArgumentos(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(Configuracion.USO);
+            System.exit(2);
+            return;
+        }
+
+        int codigo = 0;
+        try (Objetivo objetivo = conf.crearObjetivo()) {
+            objetivo.preparar();
+            System.out.printf("%s: %,.0f ops/s durante %d s (+%d s de calentamiento)%n",
+                    objetivo.getDescripcion(), conf.getTasa(), conf.getDuracion(), conf.getCalentamiento());
+
+            ResultadoCarga resultado = new EjecucionTasaConstante(objetivo, conf).ejecutar();
+            resultado.imprimir(System.out);
+
+            if (conf.getSalida() != null) {
+                for (Path archivo : resultado.guardar(conf.getSalida())) {
+                    System.out.println("Guardado " + archivo);
+                }
+            }
+            List<String> incumplimientos = resultado.incumplimientos();
+            for (String motivo : incumplimientos) {
+                System.err.println("NO CUMPLE: " + motivo);
+            }
+            codigo = incumplimientos.isEmpty() ? 0 : 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            codigo = 1;
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            codigo = 1;
+        }
+        System.exit(codigo);
+    }
+}
@@ -0,0 +1,51 @@
+package com.biblioteca.carga;
+
+import com.biblioteca.modelo.Libro;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Libros de prueba para las escrituras y para llenar una base vacía.
+ *
+ * Usa las mismas palabras que los términos de búsqueda por defecto, así que las
+ * búsquedas encuentran resultados.
+ */
+public final class LibrosAleatorios {
+
+    static final String[] PALABRAS = {
+        "amor", "tiempo", "ciudad", "noche", "mar", "sombra", "casa", "camino", "silencio", "viento",
+        "memoria", "fuego", "jardin", "rio", "luz", "invierno", "puerta", "espejo", "isla", "sueno"
+    };
+
+    static final String[] AUTORES = {
+        "Gabriel Garcia", "Isabel Allende", "Julio Cortazar", "Laura Esquivel", "Mario Vargas",
+        "Elena Poniatowska", "Jorge Borges", "Rosa Montero", "Carlos Fuentes", "Ana Ocampo"
+    };
+
+    static final String[] EDITORIALES = {
+        "Penguin Random House", "Editorial Planeta", "Santillana", "Alfaguara", "Anagrama"
+    };
+
+    /** Términos de búsqueda por defecto: palabras de los títulos y apellidos de autores */
+    static final String TERMINOS_DEFECTO = "amor,ciudad,garcia,cortazar,noche,sombra,allende,viento";
+
+    private static final LocalDate FECHA_BASE = LocalDate.of(1900, 1, 1);
+    private static final AtomicLong SECUENCIA = new AtomicLong();
+
+    private LibrosAleatorios() {}
+
+    public static Libro libro() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        String nombre = PALABRAS[r.nextInt(PALABRAS.length)] + " de " + PALABRAS[r.nextInt(PALABRAS.length)]
+                + " " + SECUENCIA.incrementAndGet();
+        return new Libro(
+            Character.toUpperCase(nombre.charAt(0)) + nombre.substring(1),
+            AUTORES[r.nextInt(AUTORES.length)],
+            FECHA_BASE.plusDays(r.nextInt(45_000)),
+            EDITORIALES[r.nextInt(EDITORIALES.length)],
+            r.nextInt(100, 200_000) / 100.0
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.biblioteca.carga;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Proporción de cada operación en la carga, por ejemplo "lectura=80,escritura=5,busqueda=15".
+ *
+ * Los pesos no tienen que sumar 100: cada operación sale con probabilidad peso / suma.
+ */
+public final class Mezcla {
+
+    private final int[] pesos = new int[Operacion.values().length];
+    private final int total;
+
+    private Mezcla(String texto) {
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.trim().split("=");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Mezcla mal escrita: " + texto);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo en la mezcla: " + parte);
+            }
+            pesos[Operacion.desdeNombre(claveValor[0].trim()).ordinal()] = peso;
+        }
+        int suma = 0;
+        for (int peso : pesos) {
+            suma += peso;
+        }
+        if (suma == 0) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación: " + texto);
+        }
+        total = suma;
+    }
+
+    public static Mezcla desdeTexto(String texto) {
+        return new Mezcla(texto);
+    }
+
+    /**
+     * Operación al azar según los pesos
+     */
+    public Operacion elegir() {
+        int valor = ThreadLocalRandom.current().nextInt(total);
+        for (Operacion operacion : Operacion.values()) {
+            valor -= pesos[operacion.ordinal()];
+            if (valor < 0) {
+                return operacion;
+            }
+        }
+        throw new IllegalStateException("Pesos inconsistentes");
+    }
+
+    public int getPeso(Operacion operacion) {
+        return pesos[operacion.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        for (Operacion operacion : Operacion.values()) {
+            if (pesos[operacion.ordinal()] > 0) {
+                if (texto.length() > 0) texto.append(',');
+                texto.append(operacion.getNombre()).append('=').append(pesos[operacion.ordinal()]);
+            }
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.biblioteca.carga;
+
+/**
+ * Sistema contra el que se genera la carga: app_libros por HTTP o LibroDAO en el mismo proceso.
+ *
+ * ejecutar se llama desde muchos hilos a la vez; una operación fallida lanza una excepción.
+ */
+public interface Objetivo extends AutoCloseable {
+
+    /**
+     * Prepara los datos antes de medir (por ejemplo, carga libros si la base está vacía)
+     */
+    void preparar() throws Exception;
+
+    void ejecutar(Operacion operacion) throws Exception;
+
+    String getDescripcion();
+
+    @Override
+    void close();
+}
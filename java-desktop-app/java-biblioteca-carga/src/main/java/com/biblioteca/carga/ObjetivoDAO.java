@@ -0,0 +1,151 @@
+package com.biblioteca.carga;
+
+import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.dao.ResultadoLote;
+import com.biblioteca.database.ConexionDB;
+import com.biblioteca.metricas.MedidorOperacion;
+import com.biblioteca.metricas.Metricas;
+import com.biblioteca.modelo.Libro;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Carga directa sobre LibroDAO y el pool de ConexionDB, sin red de por medio
+ */
+public final class ObjetivoDAO implements Objetivo {
+
+    private final Path archivo;
+    private final int filas;
+    private final List<String> terminos;
+    private final LibroDAO dao;
+    private volatile int idMaximo;
+
+    // obtenerPorId y buscar no lanzan: un error solo queda en los contadores de sus medidores
+    private final ErroresDAO erroresLectura = new ErroresDAO("LibroDAO.obtenerPorId");
+    private final ErroresDAO erroresBusqueda = new ErroresDAO("LibroDAO.buscar", "LibroDAO.buscarConLike");
+
+    public ObjetivoDAO(Path archivo, int filas, List<String> terminos) {
+        this.archivo = archivo;
+        this.filas = filas;
+        this.terminos = terminos;
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // ConexionDB lee la URL una sola vez: debe fijarse antes del primer uso del DAO
+        System.setProperty("biblioteca.db.url", "jdbc:sqlite:" + archivo.toAbsolutePath());
+        this.dao = new LibroDAO();
+    }
+
+    @Override
+    public void preparar() {
+        idMaximo = leerIdMaximo();
+        if (idMaximo == 0 && filas > 0) {
+            System.out.printf("Base vacía: cargando %,d libros...%n", filas);
+            ResultadoLote resultado = dao.insertarLoteMasivo(
+                    Stream.generate(LibrosAleatorios::libro).limit(filas)::iterator, LibroDAO.TAMANO_LOTE_DEFECTO);
+            if (resultado.getErrorGeneral() != null) {
+                throw new IllegalStateException("No se pudo cargar la base: " + resultado.getErrorGeneral());
+            }
+            idMaximo = leerIdMaximo();
+        }
+        if (idMaximo == 0) {
+            throw new IllegalStateException("La base " + archivo + " no tiene libros");
+        }
+    }
+
+    @Override
+    public void ejecutar(Operacion operacion) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        switch (operacion) {
+            case LECTURA:
+                // Un ID borrado da null, igual que un error: se distinguen por el medidor
+                dao.obtenerPorId(1 + r.nextInt(idMaximo));
+                if (erroresLectura.reclamar()) {
+                    throw new IllegalStateException("No se pudo leer");
+                }
+                break;
+            case ESCRITURA:
+                if (!dao.insertar(LibrosAleatorios.libro())) {
+                    throw new IllegalStateException("No se pudo insertar");
+                }
+                break;
+            case BUSQUEDA:
+                dao.buscar(terminos.get(r.nextInt(terminos.size())));
+                if (erroresBusqueda.reclamar()) {
+                    throw new IllegalStateException("No se pudo buscar");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Operación no soportada: " + operacion);
+        }
+    }
+
+    @Override
+    public String getDescripcion() {
+        return "LibroDAO sobre " + archivo + " (" + idMaximo + " IDs)";
+    }
+
+    @Override
+    public void close() {
+        ConexionDB.cerrar();
+    }
+
+    /**
+     * Errores registrados por los medidores del DAO que todavía no se reportaron.
+     * Con muchos hilos el error puede reportarlo otra operación concurrente y no la
+     * que falló, pero cada error se reporta exactamente una vez: el total es exacto.
+     */
+    private static final class ErroresDAO {
+
+        private final MedidorOperacion[] medidores;
+        private final AtomicLong reportados;
+
+        ErroresDAO(String... operaciones) {
+            medidores = new MedidorOperacion[operaciones.length];
+            for (int i = 0; i < operaciones.length; i++) {
+                medidores[i] = Metricas.operacion(operaciones[i]);
+            }
+            // Los errores anteriores a la carga no cuentan
+            reportados = new AtomicLong(total());
+        }
+
+        /** true si había un error sin reportar, que queda reportado */
+        boolean reclamar() {
+            while (true) {
+                long anteriores = reportados.get();
+                if (total() <= anteriores) {
+                    return false;
+                }
+                if (reportados.compareAndSet(anteriores, anteriores + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private long total() {
+            long total = 0;
+            for (MedidorOperacion medidor : medidores) {
+                total += medidor.getErrores();
+            }
+            return total;
+        }
+    }
+
+    private int leerIdMaximo() {
+        // La primera página va por ID descendente: su primer libro tiene el ID más alto
+        List<Libro> pagina = dao.obtenerPagina(0, 1);
+        return pagina.isEmpty() ? 0 : pagina.get(0).getId();
+    }
+}
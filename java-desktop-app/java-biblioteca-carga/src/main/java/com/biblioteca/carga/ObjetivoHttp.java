@@ -0,0 +1,154 @@
+package com.biblioteca.carga;
+
+import com.biblioteca.modelo.Libro;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Carga sobre la API REST de app_libros (/api/libros) en una instancia local.
+ *
+ * Las lecturas piden IDs tomados al preparar (las primeras páginas del catálogo);
+ * si el catálogo está vacío se llena con POST /api/libros/lote.
+ */
+public final class ObjetivoHttp implements Objetivo {
+
+    /** IDs que se leen del catálogo para las lecturas */
+    static final int MUESTRA_IDS = 10_000;
+
+    private static final int TAMANO_PAGINA = 1_000;
+    private static final int TAMANO_LOTE = 5_000;
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final URI base;
+    private final int filas;
+    private final List<String> terminos;
+    private final HttpClient cliente;
+    private int[] ids = new int[0];
+
+    public ObjetivoHttp(URI base, int filas, List<String> terminos) {
+        this.base = base;
+        this.filas = filas;
+        this.terminos = terminos;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public void preparar() throws IOException, InterruptedException {
+        ids = leerIds();
+        if (ids.length == 0 && filas > 0) {
+            System.out.printf("Catálogo vacío: cargando %,d libros...%n", filas);
+            for (int cargados = 0; cargados < filas; cargados += TAMANO_LOTE) {
+                StringBuilder lote = new StringBuilder("[");
+                for (int i = cargados; i < Math.min(filas, cargados + TAMANO_LOTE); i++) {
+                    if (i > cargados) lote.append(',');
+                    lote.append(json(LibrosAleatorios.libro()));
+                }
+                enviar(post("/api/libros/lote", lote.append(']').toString()), 201);
+            }
+            ids = leerIds();
+        }
+        if (ids.length == 0) {
+            throw new IllegalStateException("El catálogo de " + base + " está vacío");
+        }
+    }
+
+    @Override
+    public void ejecutar(Operacion operacion) throws IOException, InterruptedException {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        switch (operacion) {
+            case LECTURA:
+                enviar(get("/api/libros/" + ids[r.nextInt(ids.length)]), 200);
+                break;
+            case ESCRITURA:
+                enviar(post("/api/libros", json(LibrosAleatorios.libro())), 201);
+                break;
+            case BUSQUEDA:
+                String termino = URLEncoder.encode(terminos.get(r.nextInt(terminos.size())), StandardCharsets.UTF_8);
+                enviar(get("/api/libros/buscar?limite=20&q=" + termino), 200);
+                break;
+            default:
+                throw new IllegalArgumentException("Operación no soportada: " + operacion);
+        }
+    }
+
+    @Override
+    public String getDescripcion() {
+        return "app_libros en " + base + " (" + ids.length + " IDs)";
+    }
+
+    @Override
+    public void close() {
+        // HttpClient no se cierra en Java 17; sus hilos terminan con el proceso
+    }
+
+    private int[] leerIds() throws IOException, InterruptedException {
+        List<Integer> leidos = new ArrayList<>();
+        int despues = 0;
+        while (leidos.size() < MUESTRA_IDS) {
+            String pagina = enviarTexto(get("/api/libros?tamano=" + TAMANO_PAGINA + "&despues=" + despues));
+            int antes = leidos.size();
+            Matcher m = ID.matcher(pagina);
+            while (m.find()) {
+                leidos.add(Integer.parseInt(m.group(1)));
+            }
+            if (leidos.size() - antes < TAMANO_PAGINA) {
+                break;
+            }
+            despues = leidos.get(leidos.size() - 1);
+        }
+        return leidos.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(base.resolve(ruta)).timeout(TIEMPO_MAXIMO).GET().build();
+    }
+
+    private HttpRequest post(String ruta, String cuerpo) {
+        return HttpRequest.newBuilder(base.resolve(ruta))
+                .timeout(TIEMPO_MAXIMO)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+    }
+
+    // El cuerpo se lee completo (y se descarta): cuenta en la latencia igual que para un cliente real
+    private void enviar(HttpRequest peticion, int estadoEsperado) throws IOException, InterruptedException {
+        HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+        if (respuesta.statusCode() != estadoEsperado) {
+            throw new IOException(peticion.method() + " " + peticion.uri() + ": HTTP " + respuesta.statusCode());
+        }
+    }
+
+    private String enviarTexto(HttpRequest peticion) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 200) {
+            throw new IOException(peticion.method() + " " + peticion.uri() + ": HTTP " + respuesta.statusCode());
+        }
+        return respuesta.body();
+    }
+
+    // Los textos de LibrosAleatorios no llevan comillas ni barras: no hace falta escaparlos
+    private static String json(Libro libro) {
+        return "{\"nombreLibro\":\"" + libro.getNombre()
+                + "\",\"nombreAutor\":\"" + libro.getAutor()
+                + "\",\"fechaLanzamiento\":\"" + libro.getFechaLanzamiento()
+                + "\",\"editorial\":\"" + libro.getEditorial()
+                + "\",\"costo\":" + libro.getCosto() + "}";
+    }
+}
@@ -0,0 +1,32 @@
+package com.biblioteca.carga;
+
+/**
+ * Tipos de operación que genera la carga
+ */
+public enum Operacion {
+    /** Un libro por ID */
+    LECTURA("lectura"),
+    /** Insertar un libro nuevo */
+    ESCRITURA("escritura"),
+    /** Búsqueda de texto completo */
+    BUSQUEDA("busqueda");
+
+    private final String nombre;
+
+    Operacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public static Operacion desdeNombre(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equals(nombre)) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + nombre);
+    }
+}
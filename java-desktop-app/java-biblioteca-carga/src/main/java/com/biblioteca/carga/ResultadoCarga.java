@@ -0,0 +1,140 @@
+package com.biblioteca.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latencias y tasa lograda de una ejecución, sin contar el calentamiento.
+ *
+ * Los histogramas están en microsegundos; los informes, en milisegundos.
+ */
+public final class ResultadoCarga {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Configuracion conf;
+    private final String descripcion;
+    private final long enviadas;
+    private final long sinTerminar;
+    private final long duracionNanos;
+    private final Map<Operacion, Histogram> respuesta;
+    private final Map<Operacion, Histogram> servicio;
+    private final Map<Operacion, Long> errores;
+
+    ResultadoCarga(Configuracion conf, String descripcion, long enviadas, long sinTerminar, long duracionNanos,
+                   Map<Operacion, Histogram> respuesta, Map<Operacion, Histogram> servicio,
+                   Map<Operacion, Long> errores) {
+        this.conf = conf;
+        this.descripcion = descripcion;
+        this.enviadas = enviadas;
+        this.sinTerminar = sinTerminar;
+        this.duracionNanos = duracionNanos;
+        this.respuesta = respuesta;
+        this.servicio = servicio;
+        this.errores = errores;
+    }
+
+    /**
+     * Operaciones terminadas con éxito por segundo de medición
+     */
+    public double getTasaLograda() {
+        return total(respuesta).getTotalCount() / (duracionNanos / 1e9);
+    }
+
+    public long getErrores() {
+        return errores.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * p99 del tiempo de respuesta de todas las operaciones, en milisegundos
+     */
+    public double getP99() {
+        return total(respuesta).getValueAtPercentile(99) / 1000.0;
+    }
+
+    public void imprimir(PrintStream salida) {
+        salida.println();
+        salida.println("Destino:  " + descripcion);
+        salida.printf("Tasa:     %,.0f ops/s previstas, %,.1f ops/s logradas (%,d enviadas, %,d errores, %,d sin terminar)%n",
+                conf.getTasa(), getTasaLograda(), enviadas, getErrores(), sinTerminar);
+        salida.println("Mezcla:   " + conf.getMezcla() + ", concurrencia " + conf.getConcurrencia());
+        imprimirTabla(salida, "Tiempo de respuesta (desde el instante previsto, incluye la espera en cola)", respuesta);
+        imprimirTabla(salida, "Tiempo de servicio (desde que empieza la operación)", servicio);
+    }
+
+    private void imprimirTabla(PrintStream salida, String titulo, Map<Operacion, Histogram> histogramas) {
+        salida.println();
+        salida.println(titulo + ", en ms:");
+        salida.printf("  %-10s %10s %9s %9s %9s %9s %9s %9s%n", "operación", "cantidad", "errores",
+                "p50", "p90", "p99", "p99.9", "máx");
+        for (Operacion operacion : Operacion.values()) {
+            Histogram h = histogramas.get(operacion);
+            if (h.getTotalCount() > 0 || errores.get(operacion) > 0) {
+                imprimirFila(salida, operacion.getNombre(), h, errores.get(operacion));
+            }
+        }
+        imprimirFila(salida, "total", total(histogramas), getErrores());
+    }
+
+    private static void imprimirFila(PrintStream salida, String nombre, Histogram h, long errores) {
+        salida.printf("  %-10s %,10d %,9d", nombre, h.getTotalCount(), errores);
+        for (double percentil : PERCENTILES) {
+            salida.printf(" %9.2f", h.getValueAtPercentile(percentil) / 1000.0);
+        }
+        salida.printf(" %9.2f%n", h.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Guarda la distribución completa de cada histograma (formato .hgrm de HdrHistogram,
+     * que se puede graficar y comparar entre ejecuciones)
+     */
+    public List<Path> guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        List<Path> archivos = new ArrayList<>();
+        for (Operacion operacion : Operacion.values()) {
+            if (respuesta.get(operacion).getTotalCount() > 0) {
+                archivos.add(guardar(directorio.resolve(operacion.getNombre() + "-respuesta.hgrm"), respuesta.get(operacion)));
+                archivos.add(guardar(directorio.resolve(operacion.getNombre() + "-servicio.hgrm"), servicio.get(operacion)));
+            }
+        }
+        archivos.add(guardar(directorio.resolve("total-respuesta.hgrm"), total(respuesta)));
+        return archivos;
+    }
+
+    private static Path guardar(Path archivo, Histogram histograma) throws IOException {
+        try (PrintStream salida = new PrintStream(Files.newOutputStream(archivo), false, "UTF-8")) {
+            histograma.outputPercentileDistribution(salida, 1000.0);
+        }
+        return archivo;
+    }
+
+    /**
+     * Motivos por los que la ejecución no cumple los límites de --p99-maximo y --tasa-minima
+     */
+    public List<String> incumplimientos() {
+        List<String> motivos = new ArrayList<>();
+        if (conf.getP99Maximo() > 0 && getP99() > conf.getP99Maximo()) {
+            motivos.add(String.format("p99 %.2f ms > %.2f ms", getP99(), conf.getP99Maximo()));
+        }
+        if (conf.getTasaMinima() > 0 && getTasaLograda() < conf.getTasa() * conf.getTasaMinima()) {
+            motivos.add(String.format("tasa lograda %,.1f ops/s < %,.1f ops/s", getTasaLograda(),
+                    conf.getTasa() * conf.getTasaMinima()));
+        }
+        return motivos;
+    }
+
+    private static Histogram total(Map<Operacion, Histogram> histogramas) {
+        Histogram total = new Histogram(3);
+        for (Histogram h : histogramas.values()) {
+            total.add(h);
+        }
+        return total;
+    }
+}
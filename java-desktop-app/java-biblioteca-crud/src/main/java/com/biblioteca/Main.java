@@ -1,9 +1,17 @@
 package com.biblioteca;
 
+import com.biblioteca.bitacora.Bitacora;
+import com.biblioteca.controlador.LibroControlador;
+import com.biblioteca.controlador.TareasSegundoPlano;
+import com.biblioteca.database.ConexionDB;
+import com.biblioteca.metricas.MonitorHiloFX;
+import com.biblioteca.metricas.ReporteMetricas;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 
 /**
@@ -12,12 +20,32 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
+    private static final Bitacora LOG = Bitacora.para(Main.class);
+
+    private LibroControlador controlador;
+
     @Override
     public void start(Stage primaryStage) {
+        // La base se prepara antes de la interfaz: si el esquema no se puede migrar
+        // (o es de una versión más nueva) la aplicación no arranca
+        try {
+            ConexionDB.iniciar();
+        } catch (IllegalStateException e) {
+            LOG.error("No se pudo abrir la base de datos", e);
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText("No se pudo abrir la base de datos");
+            alert.setContentText(e.getMessage());
+            alert.showAndWait();
+            Platform.exit();
+            return;
+        }
+
         try {
             // Cargar la vista principal
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/biblioteca/vista/principal.fxml"));
             Parent root = loader.load();
+            controlador = loader.getController();
 
             // Configurar la escena
             Scene scene = new Scene(root, 1100, 750);
@@ -32,10 +60,27 @@ public class Main extends Application {
             primaryStage.setMinHeight(700);
             primaryStage.show();
 
+            // Métricas: espera del hilo de la interfaz y reporte periódico a biblioteca-metricas.log
+            MonitorHiloFX.iniciar();
+            ReporteMetricas.iniciar();
+
         } catch (Exception e) {
-            System.err.println("Error al iniciar la aplicación: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error al iniciar la aplicación", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Guardar la instantánea del catálogo mientras la base sigue abierta, luego detener
+        // las tareas en segundo plano y liberar las conexiones del pool
+        if (controlador != null) {
+            controlador.cerrar();
         }
+        MonitorHiloFX.detener();
+        TareasSegundoPlano.cerrar();
+        ConexionDB.cerrar();
+        ReporteMetricas.detener();
+        Bitacora.cerrar();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,145 @@
+package com.biblioteca.bitacora;
+
+/**
+ * Bitácora de la aplicación: reemplaza a System.err.println y printStackTrace.
+ *
+ * <pre>
+ * private static final Bitacora LOG = Bitacora.para(LibroDAO.class);
+ * ...
+ * LOG.error("Error al insertar libro", e);
+ * LOG.info("Conexión establecida (perfil {})", perfil.getNombre());
+ * </pre>
+ *
+ * Los mensajes se escriben en otro hilo (DestinoAsincrono sobre la consola por
+ * defecto), así que registrar no agrega latencia a las operaciones. Si el nivel
+ * está desactivado las llamadas no crean objetos; con argumentos primitivos, que
+ * se convierten en objetos antes de la llamada, conviene preguntar antes con isActivo.
+ *
+ * Cada plantilla se registra como máximo REPETICIONES_POR_VENTANA veces cada
+ * VENTANA_MS; el resto se suprime y se informa la cantidad.
+ *
+ * El nivel se elige con -Dbiblioteca.log.nivel=error|advertencia|info|depuracion (INFO por defecto).
+ */
+public final class Bitacora {
+
+    private static final int CAPACIDAD_COLA = 8_192;
+    private static final int REPETICIONES_POR_VENTANA = 5;
+    private static final long VENTANA_MS = 10_000;
+
+    private static volatile int nivelActivo = Nivel.desde(System.getProperty("biblioteca.log.nivel", "INFO")).ordinal();
+    private static volatile Destino destino = new DestinoAsincrono(new DestinoConsola(), CAPACIDAD_COLA);
+    private static final LimitadorRepeticiones LIMITADOR = new LimitadorRepeticiones(REPETICIONES_POR_VENTANA, VENTANA_MS);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Bitacora::cerrar, "bitacora-cierre"));
+    }
+
+    private final String origen;
+
+    private Bitacora(String origen) {
+        this.origen = origen;
+    }
+
+    public static Bitacora para(Class<?> clase) {
+        return new Bitacora(clase.getSimpleName());
+    }
+
+    /**
+     * Cambia el nivel y el destino; el destino anterior se cierra
+     */
+    public static void configurar(Nivel nivel, Destino nuevo) {
+        nivelActivo = nivel.ordinal();
+        Destino anterior = destino;
+        destino = nuevo;
+        if (anterior != nuevo) {
+            anterior.cerrar();
+        }
+    }
+
+    /**
+     * Escribe lo pendiente; se llama sola al terminar la JVM
+     */
+    public static void cerrar() {
+        destino.cerrar();
+    }
+
+    public static boolean isActivo(Nivel nivel) {
+        return nivel.ordinal() <= nivelActivo;
+    }
+
+    public void error(String mensaje) {
+        registrar(Nivel.ERROR, mensaje, null, null, null);
+    }
+
+    public void error(String mensaje, Throwable error) {
+        registrar(Nivel.ERROR, mensaje, null, null, error);
+    }
+
+    public void error(String plantilla, Object argumento) {
+        registrar(Nivel.ERROR, plantilla, argumento, null, null);
+    }
+
+    public void error(String plantilla, Object argumento, Throwable error) {
+        registrar(Nivel.ERROR, plantilla, argumento, null, error);
+    }
+
+    public void advertencia(String mensaje) {
+        registrar(Nivel.ADVERTENCIA, mensaje, null, null, null);
+    }
+
+    public void advertencia(String mensaje, Throwable error) {
+        registrar(Nivel.ADVERTENCIA, mensaje, null, null, error);
+    }
+
+    public void advertencia(String plantilla, Object argumento) {
+        registrar(Nivel.ADVERTENCIA, plantilla, argumento, null, null);
+    }
+
+    public void advertencia(String plantilla, Object primero, Object segundo) {
+        registrar(Nivel.ADVERTENCIA, plantilla, primero, segundo, null);
+    }
+
+    public void advertencia(String plantilla, Object primero, Object segundo, Throwable error) {
+        registrar(Nivel.ADVERTENCIA, plantilla, primero, segundo, error);
+    }
+
+    public void info(String mensaje) {
+        registrar(Nivel.INFO, mensaje, null, null, null);
+    }
+
+    public void info(String plantilla, Object argumento) {
+        registrar(Nivel.INFO, plantilla, argumento, null, null);
+    }
+
+    public void info(String plantilla, Object primero, Object segundo) {
+        registrar(Nivel.INFO, plantilla, primero, segundo, null);
+    }
+
+    public void depurar(String mensaje) {
+        registrar(Nivel.DEPURACION, mensaje, null, null, null);
+    }
+
+    public void depurar(String plantilla, Object argumento) {
+        registrar(Nivel.DEPURACION, plantilla, argumento, null, null);
+    }
+
+    public void depurar(String plantilla, Object primero, Object segundo) {
+        registrar(Nivel.DEPURACION, plantilla, primero, segundo, null);
+    }
+
+    private void registrar(Nivel nivel, String plantilla, Object primero, Object segundo, Throwable error) {
+        if (nivel.ordinal() > nivelActivo) {
+            return;
+        }
+        long suprimidos = LIMITADOR.admitir(plantilla);
+        if (suprimidos < 0) {
+            return;
+        }
+        Destino actual = destino;
+        if (suprimidos > 0) {
+            actual.escribir(new Evento(nivel, origen,
+                    "Se suprimieron {} mensajes repetidos: \"{}\"", suprimidos, plantilla, null));
+        }
+        actual.escribir(new Evento(nivel, origen, plantilla, primero, segundo, error));
+    }
+}
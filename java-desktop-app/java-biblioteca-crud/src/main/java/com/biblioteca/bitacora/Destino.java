@@ -0,0 +1,16 @@
+package com.biblioteca.bitacora;
+
+/**
+ * Adónde van los eventos de la bitácora (consola, archivo, otro framework...).
+ * Se cambia con Bitacora.configurar.
+ */
+public interface Destino {
+
+    void escribir(Evento evento);
+
+    /**
+     * Escribe lo pendiente y libera los recursos
+     */
+    default void cerrar() {
+    }
+}
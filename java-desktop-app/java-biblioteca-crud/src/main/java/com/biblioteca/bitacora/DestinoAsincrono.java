@@ -0,0 +1,91 @@
+package com.biblioteca.bitacora;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envuelve otro destino y le pasa los eventos desde un hilo propio.
+ *
+ * El hilo que registra solo encola el evento en una cola circular acotada, sin
+ * formatear ni escribir nada, así que registrar no agrega latencia a las
+ * operaciones ni bloquea el hilo de JavaFX. Si la cola está llena el evento se
+ * descarta en lugar de esperar; la cantidad descartada se informa después.
+ */
+public class DestinoAsincrono implements Destino {
+
+    private static final long ESPERA_CIERRE_MS = 2_000;
+
+    private final Destino destino;
+    private final BlockingQueue<Evento> cola;
+    private final LongAdder descartados = new LongAdder();
+    private final Thread hilo;
+    private volatile boolean cerrado = false;
+
+    public DestinoAsincrono(Destino destino, int capacidad) {
+        this.destino = destino;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.hilo = new Thread(this::procesar, "bitacora");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @Override
+    public void escribir(Evento evento) {
+        if (cerrado) {
+            destino.escribir(evento);
+        } else if (!cola.offer(evento)) {
+            descartados.increment();
+        }
+    }
+
+    private void procesar() {
+        while (!cerrado || !cola.isEmpty()) {
+            try {
+                Evento evento = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (evento != null) {
+                    escribirSinFallar(evento);
+                }
+                informarDescartados();
+            } catch (InterruptedException e) {
+                // cerrar() interrumpe la espera; el bucle vacía lo que quede
+            }
+        }
+    }
+
+    private void informarDescartados() {
+        long cantidad = descartados.sumThenReset();
+        if (cantidad > 0) {
+            escribirSinFallar(new Evento(Nivel.ADVERTENCIA, DestinoAsincrono.class.getSimpleName(),
+                    "{} mensajes descartados: la cola de la bitácora estaba llena", cantidad, null, null));
+        }
+    }
+
+    private void escribirSinFallar(Evento evento) {
+        try {
+            destino.escribir(evento);
+        } catch (RuntimeException e) {
+            // Un destino roto no debe detener el hilo de la bitácora
+            System.err.print(evento.formatear());
+        }
+    }
+
+    /**
+     * Escribe los eventos pendientes (esperando como máximo unos segundos) y cierra el destino
+     */
+    @Override
+    public void cerrar() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        hilo.interrupt();
+        try {
+            hilo.join(ESPERA_CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        destino.cerrar();
+    }
+}
@@ -0,0 +1,24 @@
+package com.biblioteca.bitacora;
+
+import java.io.PrintStream;
+
+/**
+ * Escribe los eventos en la consola: ERROR y ADVERTENCIA en System.err, el resto en System.out.
+ *
+ * Escribir en la consola es lento y sincrónico, así que normalmente se usa
+ * envuelto en un DestinoAsincrono.
+ */
+public class DestinoConsola implements Destino {
+
+    @Override
+    public void escribir(Evento evento) {
+        PrintStream salida = evento.getNivel().compareTo(Nivel.ADVERTENCIA) <= 0 ? System.err : System.out;
+        salida.print(evento.formatear());
+    }
+
+    @Override
+    public void cerrar() {
+        System.out.flush();
+        System.err.flush();
+    }
+}
@@ -0,0 +1,100 @@
+package com.biblioteca.bitacora;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Un mensaje de la bitácora tal como se registró.
+ *
+ * La plantilla y sus argumentos se guardan sin formatear: el texto se arma en el
+ * destino (normalmente en el hilo de DestinoAsincrono), no en el hilo que registra.
+ * Por eso los argumentos deberían ser inmutables o no modificarse después.
+ */
+public final class Evento {
+
+    private static final DateTimeFormatter FORMATO_HORA =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final long instante;
+    private final Nivel nivel;
+    private final String origen;
+    private final String hilo;
+    private final String plantilla;
+    private final Object primero;
+    private final Object segundo;
+    private final Throwable error;
+
+    Evento(Nivel nivel, String origen, String plantilla, Object primero, Object segundo, Throwable error) {
+        this.instante = System.currentTimeMillis();
+        this.nivel = nivel;
+        this.origen = origen;
+        this.hilo = Thread.currentThread().getName();
+        this.plantilla = plantilla;
+        this.primero = primero;
+        this.segundo = segundo;
+        this.error = error;
+    }
+
+    public long getInstante() {
+        return instante;
+    }
+
+    public Nivel getNivel() {
+        return nivel;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public String getHilo() {
+        return hilo;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Mensaje con los {} de la plantilla reemplazados por los argumentos y, si hay
+     * una excepción, su mensaje al final
+     */
+    public String getMensaje() {
+        StringBuilder texto = new StringBuilder(plantilla.length() + 32);
+        Object[] argumentos = {primero, segundo};
+        int siguiente = 0;
+        int desde = 0;
+        int marca;
+        while (siguiente < argumentos.length && (marca = plantilla.indexOf("{}", desde)) >= 0) {
+            texto.append(plantilla, desde, marca).append(argumentos[siguiente++]);
+            desde = marca + 2;
+        }
+        texto.append(plantilla, desde, plantilla.length());
+        if (error != null) {
+            texto.append(": ").append(error.getMessage());
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Línea completa: hora, nivel, hilo, origen, mensaje y la traza de la excepción si la hay
+     */
+    public String formatear() {
+        StringBuilder linea = new StringBuilder(128)
+                .append(FORMATO_HORA.format(Instant.ofEpochMilli(instante)))
+                .append(' ').append(nivel)
+                .append(" [").append(hilo).append("] ")
+                .append(origen).append(" - ")
+                .append(getMensaje())
+                .append(System.lineSeparator());
+        if (error != null) {
+            StringWriter traza = new StringWriter();
+            error.printStackTrace(new PrintWriter(traza));
+            linea.append(traza);
+        }
+        return linea.toString();
+    }
+}
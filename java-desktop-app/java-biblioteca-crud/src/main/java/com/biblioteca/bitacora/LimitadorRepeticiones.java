@@ -0,0 +1,61 @@
+package com.biblioteca.bitacora;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Limita cuántas veces se registra un mismo mensaje en una ventana de tiempo.
+ *
+ * Los mensajes se agrupan por plantilla (el texto con {}), así que un error que se
+ * repite en bucle con distintos argumentos cuenta como el mismo. Pasada la ventana,
+ * el siguiente mensaje lleva anotado cuántos se suprimieron.
+ */
+class LimitadorRepeticiones {
+
+    /** Las plantillas son constantes del código; esto solo protege de plantillas armadas en tiempo de ejecución */
+    private static final int MAXIMO_PLANTILLAS = 10_000;
+
+    private final int maximoPorVentana;
+    private final long ventanaNanos;
+    private final ConcurrentMap<String, Ventana> ventanas = new ConcurrentHashMap<>();
+
+    LimitadorRepeticiones(int maximoPorVentana, long ventanaMs) {
+        this.maximoPorVentana = maximoPorVentana;
+        this.ventanaNanos = ventanaMs * 1_000_000;
+    }
+
+    /**
+     * @return -1 si el mensaje debe suprimirse; si no, cuántos se suprimieron desde el último que pasó
+     */
+    long admitir(String plantilla) {
+        Ventana ventana = ventanas.get(plantilla);
+        if (ventana == null) {
+            if (ventanas.size() >= MAXIMO_PLANTILLAS) {
+                return 0;
+            }
+            ventana = ventanas.computeIfAbsent(plantilla, p -> new Ventana());
+        }
+        return ventana.admitir(System.nanoTime());
+    }
+
+    private final class Ventana {
+        private long inicio = System.nanoTime();
+        private int admitidos;
+        private long suprimidos;
+
+        synchronized long admitir(long ahora) {
+            if (ahora - inicio >= ventanaNanos) {
+                inicio = ahora;
+                admitidos = 0;
+            }
+            if (admitidos >= maximoPorVentana) {
+                suprimidos++;
+                return -1;
+            }
+            admitidos++;
+            long anteriores = suprimidos;
+            suprimidos = 0;
+            return anteriores;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.biblioteca.bitacora;
+
+/**
+ * Niveles de la bitácora, del más grave al más detallado.
+ * Un nivel configurado deja pasar los mensajes de su nivel y de los más graves.
+ */
+public enum Nivel {
+    ERROR,
+    ADVERTENCIA,
+    INFO,
+    DEPURACION;
+
+    /**
+     * Nivel por nombre (sin distinguir mayúsculas); si no existe, INFO
+     */
+    public static Nivel desde(String nombre) {
+        for (Nivel nivel : values()) {
+            if (nivel.name().equalsIgnoreCase(nombre)) {
+                return nivel;
+            }
+        }
+        return INFO;
+    }
+}
@@ -0,0 +1,112 @@
+package com.biblioteca.controlador;
+
+import com.biblioteca.dao.RepositorioLibros;
+import com.biblioteca.database.IndiceTextoCompleto;
+import com.biblioteca.modelo.Libro;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda mientras se escribe, con caché de resultados por término.
+ *
+ * Si el término nuevo extiende uno ya buscado ("gar" → "garc"), sus resultados son
+ * un subconjunto de los anteriores, así que se filtran en memoria en lugar de volver
+ * a consultar la base. La caché se descarta cuando cambia la versión de los datos.
+ *
+ * Pensada para llamarse desde tareas en segundo plano; los métodos son thread-safe.
+ */
+public class BusquedaIncremental {
+
+    private static final int TERMINOS_MAXIMOS = 32;
+
+    // No se guardan resultados enormes (por ejemplo, buscar "a"): ocuparían demasiada memoria
+    private static final int RESULTADOS_MAXIMOS = 50_000;
+
+    private final RepositorioLibros libroDAO;
+    private final LinkedHashMap<String, List<Libro>> resultados =
+            new LinkedHashMap<>(TERMINOS_MAXIMOS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<Libro>> mayor) {
+                    return size() > TERMINOS_MAXIMOS;
+                }
+            };
+    private long versionCache = -1;
+
+    public BusquedaIncremental(RepositorioLibros libroDAO) {
+        this.libroDAO = libroDAO;
+    }
+
+    /**
+     * Busca el término usando la caché cuando es posible
+     */
+    public List<Libro> buscar(String termino) {
+        String clave = termino.trim().toLowerCase();
+
+        // Una lectura de una fila: mucho más barata que repetir la búsqueda
+        long version = libroDAO.obtenerVersionDatos();
+
+        List<Libro> base = null;
+        synchronized (resultados) {
+            if (version < 0 || version != versionCache) {
+                resultados.clear();
+                versionCache = version;
+            }
+
+            List<Libro> exactos = resultados.get(clave);
+            if (exactos != null) {
+                return new ArrayList<>(exactos);
+            }
+            base = buscarPrefijoMasLargo(clave);
+        }
+
+        List<Libro> encontrados;
+        if (base != null) {
+            encontrados = new ArrayList<>();
+            for (Libro libro : base) {
+                if (IndiceTextoCompleto.coincide(clave, libro.getNombre(), libro.getAutor(), libro.getEditorial())) {
+                    encontrados.add(libro);
+                }
+            }
+        } else {
+            encontrados = libroDAO.buscar(termino);
+        }
+
+        if (encontrados.size() <= RESULTADOS_MAXIMOS) {
+            synchronized (resultados) {
+                if (versionCache == version) {
+                    resultados.put(clave, encontrados);
+                }
+            }
+        }
+        return new ArrayList<>(encontrados);
+    }
+
+    /**
+     * Resultado en caché del término más largo que es prefijo de clave, si ambos
+     * se resuelven con el índice (solo entonces el filtrado local es equivalente;
+     * si clave no, la base usaría LIKE y el resultado sería otro)
+     */
+    private List<Libro> buscarPrefijoMasLargo(String clave) {
+        if (IndiceTextoCompleto.construirConsulta(clave) == null) {
+            return null;
+        }
+        for (int fin = clave.length() - 1; fin > 0; fin--) {
+            String prefijo = clave.substring(0, fin);
+            List<Libro> encontrados = resultados.get(prefijo);
+            if (encontrados != null && IndiceTextoCompleto.construirConsulta(prefijo) != null) {
+                return encontrados;
+            }
+        }
+        return null;
+    }
+
+    public void invalidar() {
+        synchronized (resultados) {
+            resultados.clear();
+            versionCache = -1;
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package com.biblioteca.controlador;
 
+import com.biblioteca.dao.ConsultaLibros;
 import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.dao.LibroDAOConCache;
+import com.biblioteca.dao.RepositorioLibros;
+import com.biblioteca.database.ConexionDB;
+import com.biblioteca.instantanea.EscritorInstantanea;
+import com.biblioteca.instantanea.InstantaneaCatalogo;
 import com.biblioteca.modelo.Libro;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Callback;
+import javafx.util.Duration;
 
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
 
 /**
  * Controlador principal para la interfaz de gestión de libros
@@ -26,6 +43,15 @@ public class LibroControlador implements Initializable {
     @FXML private ComboBox<String> cmbEditorial;
     @FXML private TextField txtCosto;
     @FXML private TextField txtBuscar;
+    @FXML private ProgressIndicator indicadorCarga;
+
+    // Filtros del catálogo
+    @FXML private ComboBox<String> cmbFiltroEditorial;
+    @FXML private TextField txtFiltroAutor;
+    @FXML private DatePicker dpFiltroDesde;
+    @FXML private DatePicker dpFiltroHasta;
+    @FXML private TextField txtFiltroCostoMin;
+    @FXML private TextField txtFiltroCostoMax;
 
     // Tabla y columnas
     @FXML private TableView<Libro> tablaLibros;
@@ -37,10 +63,34 @@ public class LibroControlador implements Initializable {
     @FXML private TableColumn<Libro, Double> colCosto;
 
     // DAO y datos
-    private final LibroDAO libroDAO = new LibroDAO();
-    private ObservableList<Libro> listaLibros;
+    private final RepositorioLibros libroDAO = new LibroDAOConCache(new LibroDAO());
+    private final BusquedaIncremental busqueda = new BusquedaIncremental(libroDAO);
+    // Catálogo completo, cargado por páginas; null mientras la tabla muestra una búsqueda
+    private ListaLibrosPaginada listaLibros;
+
+    // Orden y filtros del catálogo; se resuelven en SQL
+    private ConsultaLibros consulta = new ConsultaLibros();
+    private final Map<TableColumn<Libro, ?>, ConsultaLibros.Columna> columnasOrden = new HashMap<>();
     private Libro libroSeleccionado = null;
 
+    // Búsqueda en curso; se cancela si llega una más nueva
+    private Task<?> tareaBusqueda;
+
+    // Versión de los datos que refleja la tabla cuando muestra todos los libros.
+    // Si tras una escritura propia la versión avanzó exactamente 1, basta con aplicar
+    // el cambio a la lista; si avanzó más, alguien más modificó la base y se recarga.
+    private long versionConocida = -1;
+    private boolean mostrandoTodos = false;
+
+    // Instantánea del catálogo junto a la base; null si la base no es un archivo
+    private final Path archivoInstantanea = InstantaneaCatalogo.rutaPara(ConexionDB.getRutaArchivo());
+
+    // Cada cuánto se revisa si la base cambió fuera de la aplicación
+    private static final Duration INTERVALO_REVISION = Duration.seconds(5);
+
+    // Pausa tras la última tecla antes de lanzar la búsqueda
+    private final PauseTransition esperaBusqueda = new PauseTransition(Duration.millis(250));
+
     // Lista de editoriales para el catálogo
     private final String[] EDITORIALES = {
         "Penguin Random House",
@@ -58,12 +108,27 @@ public class LibroControlador implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         // Configurar columnas de la tabla
-        colId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        colNombre.setCellValueFactory(new PropertyValueFactory<>("nombre"));
-        colAutor.setCellValueFactory(new PropertyValueFactory<>("autor"));
-        colFecha.setCellValueFactory(new PropertyValueFactory<>("fechaLanzamiento"));
-        colEditorial.setCellValueFactory(new PropertyValueFactory<>("editorial"));
-        colCosto.setCellValueFactory(new PropertyValueFactory<>("costo"));
+        colId.setCellValueFactory(propiedad("id"));
+        colNombre.setCellValueFactory(propiedad("nombre"));
+        colAutor.setCellValueFactory(propiedad("autor"));
+        colFecha.setCellValueFactory(propiedad("fechaLanzamiento"));
+        colEditorial.setCellValueFactory(propiedad("editorial"));
+        colCosto.setCellValueFactory(propiedad("costo"));
+
+        // Ordenar el catálogo se resuelve en la base; los resultados de búsqueda se ordenan en memoria
+        columnasOrden.put(colId, ConsultaLibros.Columna.ID);
+        columnasOrden.put(colNombre, ConsultaLibros.Columna.NOMBRE);
+        columnasOrden.put(colAutor, ConsultaLibros.Columna.AUTOR);
+        columnasOrden.put(colFecha, ConsultaLibros.Columna.FECHA);
+        columnasOrden.put(colEditorial, ConsultaLibros.Columna.EDITORIAL);
+        columnasOrden.put(colCosto, ConsultaLibros.Columna.COSTO);
+        tablaLibros.setSortPolicy(tabla -> {
+            if (!(tabla.getItems() instanceof ListaLibrosPaginada)) {
+                return TableView.DEFAULT_SORT_POLICY.call(tabla);
+            }
+            ordenarCatalogo();
+            return true;
+        });
 
         // Formatear columna de costo
         colCosto.setCellFactory(tc -> new TableCell<>() {
@@ -80,9 +145,25 @@ public class LibroControlador implements Initializable {
 
         // Cargar editoriales en el ComboBox
         cmbEditorial.setItems(FXCollections.observableArrayList(EDITORIALES));
+        cmbFiltroEditorial.setItems(FXCollections.observableArrayList(EDITORIALES));
 
-        // Cargar datos iniciales
-        cargarLibros();
+        // Indicador visible mientras haya consultas en segundo plano
+        indicadorCarga.visibleProperty().bind(TareasSegundoPlano.tareasActivasProperty().greaterThan(0));
+
+        // Cargar datos iniciales: la instantánea del catálogo, si hay, se muestra enseguida
+        if (!mostrarInstantanea()) {
+            cargarLibros();
+            guardarInstantanea();
+        }
+
+        // Búsqueda mientras se escribe: cada tecla reinicia la espera
+        esperaBusqueda.setOnFinished(e -> buscar());
+        txtBuscar.textProperty().addListener((obs, anterior, nuevo) -> esperaBusqueda.playFromStart());
+
+        // Revisar periódicamente si otro proceso modificó la base
+        Timeline revision = new Timeline(new KeyFrame(INTERVALO_REVISION, e -> revisarCambiosExternos()));
+        revision.setCycleCount(Timeline.INDEFINITE);
+        revision.play();
 
         // Listener para selección en la tabla
         tablaLibros.getSelectionModel().selectedItemProperty().addListener(
@@ -90,17 +171,220 @@ public class LibroControlador implements Initializable {
                 if (newSelection != null) {
                     libroSeleccionado = newSelection;
                     cargarDatosEnFormulario(newSelection);
+                    refrescarSeleccion(newSelection);
                 }
             }
         );
     }
 
     /**
-     * Carga todos los libros en la tabla
+     * Propiedad de Libro para una columna; las filas aún sin cargar (null) quedan vacías
+     */
+    private static <T> Callback<TableColumn.CellDataFeatures<Libro, T>, ObservableValue<T>> propiedad(String nombre) {
+        PropertyValueFactory<Libro, T> fabrica = new PropertyValueFactory<>(nombre);
+        return celda -> celda.getValue() == null ? null : fabrica.call(celda);
+    }
+
+    /**
+     * Muestra el catálogo completo en la tabla. Solo se consultan el total y la
+     * primera página; el resto se carga a medida que se desplaza la tabla.
      */
     private void cargarLibros() {
-        listaLibros = FXCollections.observableArrayList(libroDAO.obtenerTodos());
-        tablaLibros.setItems(listaLibros);
+        cancelarBusqueda();
+        ConsultaLibros pedida = consulta;
+        tareaBusqueda = TareasSegundoPlano.ejecutar(
+            // La versión se lee antes que los datos: si algo cambia en medio, la próxima revisión recarga
+            () -> new Carga(libroDAO.obtenerVersionDatos(), libroDAO.contar(pedida),
+                    libroDAO.consultar(pedida, 0, ListaLibrosPaginada.TAMANO_PAGINA)),
+            carga -> {
+                if (carga.total() < 0) {
+                    mostrarAlerta(Alert.AlertType.ERROR, "Error", "No se pudieron cargar los libros.");
+                    return;
+                }
+                listaLibros = new ListaLibrosPaginada(libroDAO, pedida, carga.total(), carga.primeraPagina());
+                tablaLibros.setItems(listaLibros);
+                versionConocida = carga.version();
+                mostrandoTodos = true;
+            },
+            error -> mostrarAlerta(Alert.AlertType.ERROR, "Error", "No se pudieron cargar los libros.")
+        );
+    }
+
+    private record Carga(long version, int total, List<Libro> primeraPagina) {}
+
+    /**
+     * Muestra el catálogo desde la instantánea mapeada en memoria, sin esperar a la base,
+     * y la valida en segundo plano
+     */
+    private boolean mostrarInstantanea() {
+        InstantaneaCatalogo instantanea = InstantaneaCatalogo.abrir(archivoInstantanea);
+        if (instantanea == null) {
+            return false;
+        }
+        ListaLibrosPaginada lista = new ListaLibrosPaginada(libroDAO, instantanea);
+        listaLibros = lista;
+        tablaLibros.setItems(lista);
+        versionConocida = instantanea.getVersionDatos();
+        mostrandoTodos = true;
+
+        // Si la base cambió desde que se escribió, se recarga desde la base y se reescribe
+        TareasSegundoPlano.ejecutar(
+            () -> new Carga(libroDAO.obtenerVersionDatos(), libroDAO.contar(lista.getConsulta()), List.of()),
+            carga -> {
+                if (carga.total() < 0
+                        || (carga.version() == instantanea.getVersionDatos() && carga.total() == instantanea.getTamano())) {
+                    return;
+                }
+                if (mostrandoTodos && listaLibros == lista) {
+                    lista.recargar(carga.total());
+                    versionConocida = carga.version();
+                }
+                guardarInstantanea();
+            },
+            error -> { }
+        );
+        return true;
+    }
+
+    /**
+     * Reescribe la instantánea del catálogo en un hilo aparte, sin ocupar el indicador de carga
+     */
+    private void guardarInstantanea() {
+        if (archivoInstantanea == null) {
+            return;
+        }
+        Thread hilo = new Thread(() -> EscritorInstantanea.escribir(libroDAO, archivoInstantanea), "instantanea");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Al cerrar la aplicación: si la base cambió desde la última instantánea (escrituras de
+     * esta sesión o de otro proceso), se reescribe para que el próximo inicio no muestre
+     * datos viejos. Se escribe aquí mismo, con la base todavía abierta.
+     */
+    public void cerrar() {
+        if (archivoInstantanea == null) {
+            return;
+        }
+        long version = libroDAO.obtenerVersionDatos();
+        if (version >= 0 && version != InstantaneaCatalogo.versionGuardada(archivoInstantanea)) {
+            EscritorInstantanea.escribir(libroDAO, archivoInstantanea);
+        }
+    }
+
+    /**
+     * Vuelve a contar los libros y descarta las páginas cargadas sin cambiar de lista,
+     * así la tabla conserva la posición de desplazamiento
+     */
+    private void recargarCatalogo() {
+        ListaLibrosPaginada lista = listaLibros;
+        TareasSegundoPlano.ejecutar(
+            () -> new Carga(libroDAO.obtenerVersionDatos(), libroDAO.contar(lista.getConsulta()), List.of()),
+            carga -> {
+                if (mostrandoTodos && listaLibros == lista && carga.total() >= 0) {
+                    lista.recargar(carga.total());
+                    versionConocida = carga.version();
+                }
+            },
+            error -> { }
+        );
+    }
+
+    /**
+     * Recarga la tabla solo si la versión de la base ya no es la que se mostró
+     */
+    private void revisarCambiosExternos() {
+        if (!mostrandoTodos || TareasSegundoPlano.tareasActivasProperty().get() > 0) {
+            return;
+        }
+        TareasSegundoPlano.ejecutar(
+            libroDAO::obtenerVersionDatos,
+            version -> {
+                if (mostrandoTodos && version != versionConocida) {
+                    recargarCatalogo();
+                }
+            },
+            error -> { }
+        );
+    }
+
+    /**
+     * Ejecuta una escritura en segundo plano y, si tuvo éxito, actualiza la tabla
+     * aplicando solo el cambio (delta) cuando es posible
+     */
+    private void ejecutarEscritura(Callable<Boolean> escritura, Runnable delta,
+                                   String mensajeExito, String mensajeError) {
+        TareasSegundoPlano.ejecutar(
+            () -> escritura.call() ? libroDAO.obtenerVersionDatos() : null,
+            version -> {
+                if (version == null) {
+                    mostrarAlerta(Alert.AlertType.ERROR, "Error", mensajeError);
+                    return;
+                }
+                limpiarFormulario();
+                if (mostrandoTodos && versionConocida >= 0 && version == versionConocida + 1) {
+                    delta.run();
+                    versionConocida = version;
+                } else if (mostrandoTodos) {
+                    recargarCatalogo();
+                } else {
+                    cargarLibros();
+                }
+                mostrarAlerta(Alert.AlertType.INFORMATION, "Éxito", mensajeExito);
+            },
+            error -> mostrarAlerta(Alert.AlertType.ERROR, "Error", mensajeError)
+        );
+    }
+
+    /**
+     * Aplica al catálogo el orden elegido en los encabezados de la tabla
+     */
+    private void ordenarCatalogo() {
+        ConsultaLibros.Columna columna = ConsultaLibros.Columna.ID;
+        boolean ascendente = false;
+        if (!tablaLibros.getSortOrder().isEmpty()) {
+            TableColumn<Libro, ?> primera = tablaLibros.getSortOrder().get(0);
+            columna = columnasOrden.getOrDefault(primera, ConsultaLibros.Columna.ID);
+            ascendente = primera.getSortType() == TableColumn.SortType.ASCENDING;
+        }
+
+        // También se llama al poner una lista nueva en la tabla: solo se recarga si el orden cambió
+        if (columna != consulta.getOrden() || ascendente != consulta.isAscendente()) {
+            consulta = consulta.conOrden(columna, ascendente);
+            cargarLibros();
+        }
+    }
+
+    private void mostrarResultados(List<Libro> libros) {
+        listaLibros = null;
+        tablaLibros.setItems(FXCollections.observableArrayList(libros));
+    }
+
+    private void cancelarBusqueda() {
+        mostrandoTodos = false;
+        if (tareaBusqueda != null) {
+            tareaBusqueda.cancel(true);
+            tareaBusqueda = null;
+        }
+    }
+
+    /**
+     * La fila puede haberse cargado antes de un cambio hecho por otro proceso:
+     * el formulario se completa con la versión actual del libro (normalmente desde
+     * la caché de LibroDAOConCache, que se vacía al detectar cambios externos)
+     */
+    private void refrescarSeleccion(Libro fila) {
+        int id = fila.getId();
+        TareasSegundoPlano.ejecutar(
+            () -> libroDAO.obtenerPorId(id),
+            actual -> {
+                if (actual != null && libroSeleccionado == fila) {
+                    cargarDatosEnFormulario(actual);
+                }
+            },
+            error -> { }
+        );
     }
 
     private void cargarDatosEnFormulario(Libro libro) {
@@ -128,13 +412,18 @@ public class LibroControlador implements Initializable {
             Double.parseDouble(txtCosto.getText().trim())
         );
 
-        if (libroDAO.insertar(nuevoLibro)) {
-            mostrarAlerta(Alert.AlertType.INFORMATION, "Éxito", "Libro registrado correctamente.");
-            limpiarFormulario();
-            cargarLibros();
-        } else {
-            mostrarAlerta(Alert.AlertType.ERROR, "Error", "No se pudo registrar el libro.");
-        }
+        // En el catálogo sin filtros ordenado por ID se agrega a la lista; con otro orden
+        // o con filtros no se sabe dónde va (ni si los cumple) y se vuelve a contar
+        ejecutarEscritura(
+            () -> libroDAO.insertar(nuevoLibro),
+            () -> {
+                if (!listaLibros.agregar(nuevoLibro)) {
+                    recargarCatalogo();
+                }
+            },
+            "Libro registrado correctamente.",
+            "No se pudo registrar el libro."
+        );
     }
 
     /**
@@ -164,13 +453,14 @@ public class LibroControlador implements Initializable {
             libroSeleccionado.setEditorial(cmbEditorial.getValue());
             libroSeleccionado.setCosto(Double.parseDouble(txtCosto.getText().trim()));
 
-            if (libroDAO.actualizar(libroSeleccionado)) {
-                mostrarAlerta(Alert.AlertType.INFORMATION, "Éxito", "Libro modificado correctamente.");
-                limpiarFormulario();
-                cargarLibros();
-            } else {
-                mostrarAlerta(Alert.AlertType.ERROR, "Error", "No se pudo modificar el libro.");
-            }
+            Libro libro = libroSeleccionado;
+            ejecutarEscritura(
+                () -> libroDAO.actualizar(libro),
+                // Reemplazar el elemento en su lugar para que la fila se redibuje
+                () -> listaLibros.actualizar(libro),
+                "Libro modificado correctamente.",
+                "No se pudo modificar el libro."
+            );
         }
     }
 
@@ -191,29 +481,87 @@ public class LibroControlador implements Initializable {
         );
 
         if (resultado.isPresent() && resultado.get() == ButtonType.OK) {
-            if (libroDAO.eliminar(libroSeleccionado.getId())) {
-                mostrarAlerta(Alert.AlertType.INFORMATION, "Éxito", "Libro eliminado correctamente.");
-                limpiarFormulario();
-                cargarLibros();
-            } else {
-                mostrarAlerta(Alert.AlertType.ERROR, "Error", "No se pudo eliminar el libro.");
-            }
+            int id = libroSeleccionado.getId();
+            ejecutarEscritura(
+                () -> libroDAO.eliminar(id),
+                // Quitarlo de la lista sin volver a contar
+                () -> {
+                    if (!listaLibros.eliminar(id)) {
+                        recargarCatalogo();
+                    }
+                },
+                "Libro eliminado correctamente.",
+                "No se pudo eliminar el libro."
+            );
         }
     }
 
     /**
-     * CONSULTAR/BUSCAR - Busca libros por nombre o autor
+     * CONSULTAR/BUSCAR - Busca libros por nombre, autor o editorial
      */
     @FXML
     private void buscar() {
+        esperaBusqueda.stop();
         String termino = txtBuscar.getText().trim();
         
         if (termino.isEmpty()) {
             cargarLibros();
         } else {
-            listaLibros = FXCollections.observableArrayList(libroDAO.buscar(termino));
-            tablaLibros.setItems(listaLibros);
+            // Una búsqueda nueva reemplaza a la anterior si todavía no terminó
+            cancelarBusqueda();
+            tareaBusqueda = TareasSegundoPlano.ejecutar(
+                () -> busqueda.buscar(termino),
+                this::mostrarResultados,
+                error -> mostrarAlerta(Alert.AlertType.ERROR, "Error", "No se pudo realizar la búsqueda.")
+            );
+        }
+    }
+
+    /**
+     * FILTRAR - Muestra el catálogo con los filtros de editorial, autor, fechas y costo
+     */
+    @FXML
+    private void aplicarFiltros() {
+        Double costoMinimo;
+        Double costoMaximo;
+        try {
+            costoMinimo = leerCosto(txtFiltroCostoMin);
+            costoMaximo = leerCosto(txtFiltroCostoMax);
+        } catch (NumberFormatException e) {
+            mostrarAlerta(Alert.AlertType.WARNING, "Filtros Inválidos", "El costo debe ser un número válido.");
+            return;
         }
+
+        consulta = new ConsultaLibros()
+            .ordenarPor(consulta.getOrden(), consulta.isAscendente())
+            .conEditorial(cmbFiltroEditorial.getValue())
+            .conAutor(txtFiltroAutor.getText())
+            .conFechaEntre(dpFiltroDesde.getValue(), dpFiltroHasta.getValue())
+            .conCostoEntre(costoMinimo, costoMaximo);
+
+        // Los filtros se aplican al catálogo, no a los resultados de una búsqueda
+        txtBuscar.clear();
+        esperaBusqueda.stop();
+        cargarLibros();
+    }
+
+    /**
+     * Quita los filtros y vuelve a mostrar todo el catálogo
+     */
+    @FXML
+    private void quitarFiltros() {
+        cmbFiltroEditorial.setValue(null);
+        txtFiltroAutor.clear();
+        dpFiltroDesde.setValue(null);
+        dpFiltroHasta.setValue(null);
+        txtFiltroCostoMin.clear();
+        txtFiltroCostoMax.clear();
+        aplicarFiltros();
+    }
+
+    private static Double leerCosto(TextField campo) {
+        String texto = campo.getText().trim();
+        return texto.isEmpty() ? null : Double.valueOf(texto);
     }
 
     /**
@@ -227,6 +575,8 @@ public class LibroControlador implements Initializable {
         cmbEditorial.setValue(null);
         txtCosto.clear();
         txtBuscar.clear();
+        // Limpiar el formulario no debe disparar la búsqueda mientras se escribe
+        esperaBusqueda.stop();
         libroSeleccionado = null;
         tablaLibros.getSelectionModel().clearSelection();
     }
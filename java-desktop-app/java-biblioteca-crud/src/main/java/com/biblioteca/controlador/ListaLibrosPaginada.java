@@ -0,0 +1,290 @@
+package com.biblioteca.controlador;
+
+import com.biblioteca.dao.ConsultaLibros;
+import com.biblioteca.dao.RepositorioLibros;
+import com.biblioteca.instantanea.InstantaneaCatalogo;
+import com.biblioteca.modelo.Libro;
+import javafx.collections.ObservableListBase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lista de los libros que cumplen una ConsultaLibros, en su orden, que se carga
+ * por páginas a medida que la tabla las pide.
+ *
+ * El tamaño sale de un COUNT; las filas de páginas que aún no llegaron valen null
+ * y la tabla las muestra vacías hasta que la página se carga en segundo plano.
+ * Solo se conservan las páginas usadas más recientemente, así que la memoria no
+ * depende del tamaño del catálogo.
+ *
+ * Creada sobre una InstantaneaCatalogo, las páginas se arman desde el archivo
+ * mapeado en lugar de consultar la base, hasta la primera recarga o modificación.
+ *
+ * Solo debe usarse desde el hilo de JavaFX.
+ */
+public class ListaLibrosPaginada extends ObservableListBase<Libro> {
+
+    public static final int TAMANO_PAGINA = 100;
+    private static final int PAGINAS_MAXIMAS = 20;
+
+    private final RepositorioLibros libroDAO;
+    private final ConsultaLibros consulta;
+    private int tamano;
+
+    private final LinkedHashMap<Integer, List<Libro>> paginas =
+            new LinkedHashMap<>(PAGINAS_MAXIMAS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Libro>> mayor) {
+                    return size() > PAGINAS_MAXIMAS;
+                }
+            };
+
+    // Último libro de cada página vista: permite pedir la siguiente por clave en lugar de con OFFSET.
+    // Se conserva aunque la página salga de la caché (un libro por página).
+    private final Map<Integer, Libro> ultimos = new HashMap<>();
+    private final Set<Integer> cargando = new HashSet<>();
+
+    // Página pedida más recientemente: las cargas que quedaron lejos se descartan sin consultar
+    private volatile int paginaActual = 0;
+
+    // Cambia con cada recarga para ignorar páginas que llegan de una carga anterior
+    private int generacion = 0;
+
+    // Origen de las páginas mientras refleje la base; null para consultarlas
+    private InstantaneaCatalogo instantanea;
+
+    /**
+     * @param tamano        total de libros (resultado de contar(consulta))
+     * @param primeraPagina primera página ya consultada, para mostrar algo sin esperar
+     */
+    public ListaLibrosPaginada(RepositorioLibros libroDAO, ConsultaLibros consulta, int tamano, List<Libro> primeraPagina) {
+        this.libroDAO = libroDAO;
+        this.consulta = consulta;
+        this.tamano = tamano;
+        guardarPagina(0, primeraPagina);
+    }
+
+    /**
+     * Catálogo completo en el orden por defecto, leído de la instantánea
+     */
+    public ListaLibrosPaginada(RepositorioLibros libroDAO, InstantaneaCatalogo instantanea) {
+        this.libroDAO = libroDAO;
+        this.consulta = new ConsultaLibros();
+        this.tamano = instantanea.getTamano();
+        this.instantanea = instantanea;
+    }
+
+    @Override
+    public Libro get(int indice) {
+        if (indice < 0 || indice >= tamano) {
+            throw new IndexOutOfBoundsException("Índice " + indice + ", tamaño " + tamano);
+        }
+
+        int numeroPagina = indice / TAMANO_PAGINA;
+        paginaActual = numeroPagina;
+        List<Libro> pagina = paginas.get(numeroPagina);
+        if (pagina == null && instantanea != null) {
+            int desde = numeroPagina * TAMANO_PAGINA;
+            pagina = instantanea.libros(desde, Math.min(desde + TAMANO_PAGINA, tamano));
+            guardarPagina(numeroPagina, pagina);
+        }
+        if (pagina == null) {
+            cargarPagina(numeroPagina);
+            return null;
+        }
+
+        // Adelantar la siguiente página para que el desplazamiento no muestre filas vacías
+        if (instantanea == null && numeroPagina + 1 < numeroPaginas() && !paginas.containsKey(numeroPagina + 1)) {
+            cargarPagina(numeroPagina + 1);
+        }
+
+        int posicion = indice % TAMANO_PAGINA;
+        // La página puede venir corta si otro proceso borró filas desde el COUNT
+        return posicion < pagina.size() ? pagina.get(posicion) : null;
+    }
+
+    @Override
+    public int size() {
+        return tamano;
+    }
+
+    private int numeroPaginas() {
+        return (tamano + TAMANO_PAGINA - 1) / TAMANO_PAGINA;
+    }
+
+    private void cargarPagina(int numeroPagina) {
+        if (!cargando.add(numeroPagina)) {
+            return;
+        }
+
+        int generacionPedida = generacion;
+        Libro ultimoAnterior = ultimos.get(numeroPagina - 1);
+        TareasSegundoPlano.ejecutar(
+            () -> {
+                if (Math.abs(numeroPagina - paginaActual) > PAGINAS_MAXIMAS / 2) {
+                    return null;
+                }
+                return ultimoAnterior != null
+                        ? libroDAO.consultarDespuesDe(consulta, ultimoAnterior, TAMANO_PAGINA)
+                        : libroDAO.consultar(consulta, numeroPagina * TAMANO_PAGINA, TAMANO_PAGINA);
+            },
+            pagina -> {
+                if (generacionPedida != generacion) {
+                    return;
+                }
+                cargando.remove(numeroPagina);
+                if (pagina != null) {
+                    guardarPagina(numeroPagina, pagina);
+                    avisarPaginaCargada(numeroPagina);
+                }
+            },
+            error -> {
+                if (generacionPedida == generacion) {
+                    cargando.remove(numeroPagina);
+                }
+            }
+        );
+    }
+
+    private void guardarPagina(int numeroPagina, List<Libro> pagina) {
+        paginas.put(numeroPagina, pagina);
+        if (!pagina.isEmpty()) {
+            // Copia: el formulario modifica los libros de la tabla antes de guardarlos
+            Libro ultimo = pagina.get(pagina.size() - 1);
+            ultimos.put(numeroPagina, new Libro(ultimo.getId(), ultimo.getNombre(), ultimo.getAutor(),
+                    ultimo.getFechaLanzamiento(), ultimo.getEditorial(), ultimo.getCosto()));
+        }
+    }
+
+    private void avisarPaginaCargada(int numeroPagina) {
+        int desde = numeroPagina * TAMANO_PAGINA;
+        int hasta = Math.min(desde + TAMANO_PAGINA, tamano);
+        if (desde >= hasta) {
+            return;
+        }
+        // Las filas pasan de null al libro: un reemplazo para que la tabla las redibuje
+        beginChange();
+        nextReplace(desde, hasta, Collections.nCopies(hasta - desde, null));
+        endChange();
+    }
+
+    public ConsultaLibros getConsulta() {
+        return consulta;
+    }
+
+    /**
+     * Reemplaza un libro ya cargado por su versión modificada
+     */
+    public void actualizar(Libro libro) {
+        // Las páginas que se descarten ya no pueden volver a salir de la instantánea
+        instantanea = null;
+        for (Map.Entry<Integer, List<Libro>> entrada : paginas.entrySet()) {
+            List<Libro> pagina = entrada.getValue();
+            for (int i = 0; i < pagina.size(); i++) {
+                if (pagina.get(i).getId() == libro.getId()) {
+                    Libro anterior = pagina.set(i, libro);
+                    int indice = entrada.getKey() * TAMANO_PAGINA + i;
+                    beginChange();
+                    nextSet(indice, anterior);
+                    endChange();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega un libro recién insertado sin volver a contar. Solo se sabe dónde va sin
+     * consultar la base en el catálogo sin filtros ordenado por ID: su ID es el mayor,
+     * así que va primero (o último en orden ascendente).
+     * @return false si hay que recargar la lista para ubicarlo
+     */
+    public boolean agregar(Libro libro) {
+        if (consulta.tieneFiltros() || consulta.getOrden() != ConsultaLibros.Columna.ID) {
+            return false;
+        }
+        int indice = consulta.isAscendente() ? tamano : 0;
+        descartarDesde(indice / TAMANO_PAGINA);
+        tamano++;
+
+        beginChange();
+        nextAdd(indice, indice + 1);
+        endChange();
+        return true;
+    }
+
+    /**
+     * Quita un libro eliminado sin volver a contar
+     * @return false si el libro no está en una página cargada y hay que recargar la lista
+     */
+    public boolean eliminar(int id) {
+        int numeroPagina = -1;
+        int posicion = -1;
+        for (Map.Entry<Integer, List<Libro>> entrada : paginas.entrySet()) {
+            List<Libro> pagina = entrada.getValue();
+            for (int i = 0; i < pagina.size(); i++) {
+                if (pagina.get(i).getId() == id) {
+                    numeroPagina = entrada.getKey();
+                    posicion = i;
+                    break;
+                }
+            }
+            if (numeroPagina >= 0) {
+                break;
+            }
+        }
+        if (numeroPagina < 0) {
+            return false;
+        }
+
+        Libro eliminado = paginas.get(numeroPagina).get(posicion);
+        int indice = numeroPagina * TAMANO_PAGINA + posicion;
+        descartarDesde(numeroPagina);
+        tamano--;
+
+        beginChange();
+        nextRemove(indice, eliminado);
+        endChange();
+        return true;
+    }
+
+    // Una fila agregada o quitada corre una posición a todas las que siguen: las páginas desde
+    // la suya se vuelven a pedir (por clave desde la anterior, que no cambió) y las de antes
+    // siguen valiendo
+    private void descartarDesde(int numeroPagina) {
+        generacion++;
+        instantanea = null;
+        paginas.keySet().removeIf(pagina -> pagina >= numeroPagina);
+        ultimos.keySet().removeIf(pagina -> pagina >= numeroPagina);
+        cargando.clear();
+    }
+
+    /**
+     * Descarta las páginas cargadas y cambia el total, conservando la lista
+     * (y con ella la posición de desplazamiento de la tabla)
+     */
+    public void recargar(int nuevoTamano) {
+        int tamanoAnterior = tamano;
+        generacion++;
+        instantanea = null;
+        paginas.clear();
+        ultimos.clear();
+        cargando.clear();
+        tamano = nuevoTamano;
+
+        beginChange();
+        if (tamanoAnterior > 0) {
+            nextRemove(0, Collections.nCopies(tamanoAnterior, null));
+        }
+        if (nuevoTamano > 0) {
+            nextAdd(0, nuevoTamano);
+        }
+        endChange();
+    }
+}
@@ -0,0 +1,88 @@
+package com.biblioteca.controlador;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta el acceso a datos fuera del hilo de JavaFX.
+ *
+ * Cada trabajo se envuelve en un Task de JavaFX: el trabajo corre en un ejecutor
+ * dedicado y los callbacks de éxito o error se invocan en el hilo de la interfaz.
+ * En JDK 21 o superior se usan hilos virtuales; en versiones anteriores, un pool
+ * fijo de hilos daemon (el pool de conexiones ya limita la concurrencia real).
+ */
+public final class TareasSegundoPlano {
+
+    private static final ExecutorService EJECUTOR = crearEjecutor();
+
+    // Solo se modifica desde el hilo de JavaFX
+    private static final ReadOnlyIntegerWrapper TAREAS_ACTIVAS = new ReadOnlyIntegerWrapper(0);
+
+    private TareasSegundoPlano() {}
+
+    private static ExecutorService crearEjecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger contador = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread hilo = new Thread(r, "bd-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+
+    /**
+     * Ejecuta un trabajo en segundo plano.
+     * Debe llamarse desde el hilo de JavaFX.
+     *
+     * @param trabajo   acceso a datos, corre fuera del hilo de JavaFX
+     * @param alTerminar recibe el resultado en el hilo de JavaFX
+     * @param alFallar   recibe la excepción en el hilo de JavaFX
+     * @return la tarea, que puede cancelarse; si se cancela no se invoca ningún callback
+     */
+    public static <T> Task<T> ejecutar(Callable<T> trabajo, Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        Task<T> tarea = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return trabajo.call();
+            }
+        };
+
+        TAREAS_ACTIVAS.set(TAREAS_ACTIVAS.get() + 1);
+        tarea.setOnSucceeded(e -> {
+            TAREAS_ACTIVAS.set(TAREAS_ACTIVAS.get() - 1);
+            alTerminar.accept(tarea.getValue());
+        });
+        tarea.setOnFailed(e -> {
+            TAREAS_ACTIVAS.set(TAREAS_ACTIVAS.get() - 1);
+            alFallar.accept(tarea.getException());
+        });
+        tarea.setOnCancelled(e -> TAREAS_ACTIVAS.set(TAREAS_ACTIVAS.get() - 1));
+
+        EJECUTOR.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Número de tareas pendientes, para mostrar un indicador de progreso
+     */
+    public static ReadOnlyIntegerProperty tareasActivasProperty() {
+        return TAREAS_ACTIVAS.getReadOnlyProperty();
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar la aplicación
+     */
+    public static void cerrar() {
+        EJECUTOR.shutdownNow();
+    }
+}
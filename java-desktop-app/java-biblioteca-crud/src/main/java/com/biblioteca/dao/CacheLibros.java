@@ -0,0 +1,181 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.modelo.Libro;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada id → Libro con expulsión LRU y caducidad (TTL).
+ *
+ * Guarda y devuelve copias de los libros, porque Libro es mutable y la tabla
+ * de la interfaz modifica los objetos que muestra antes de guardarlos.
+ *
+ * Cada escritura o invalidación avanza una generación. Quien guarda lo que leyó
+ * de la base usa guardarSiVigente con la marca tomada antes de leer: si entre
+ * medias hubo una escritura, lo leído puede ser anterior a ella y no se guarda.
+ */
+public class CacheLibros {
+
+    private final int tamanoMaximo;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entrada> entradas;
+    private long generacion; // protegida por entradas
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+    private final LongAdder caducadas = new LongAdder();
+
+    public CacheLibros(int tamanoMaximo, long ttlMs) {
+        if (tamanoMaximo < 1) {
+            throw new IllegalArgumentException("El tamaño de la caché debe ser al menos 1");
+        }
+        this.tamanoMaximo = tamanoMaximo;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        // accessOrder = true: cada get mueve la entrada al final, el primero es el menos usado
+        this.entradas = new LinkedHashMap<>(Math.min(tamanoMaximo, 1024) * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> mayor) {
+                if (size() > CacheLibros.this.tamanoMaximo) {
+                    expulsiones.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Caché configurada con -Dbiblioteca.cache.tamanoMaximo y -Dbiblioteca.cache.ttlMs
+     */
+    public static CacheLibros desdeSistema() {
+        return new CacheLibros(
+            Integer.getInteger("biblioteca.cache.tamanoMaximo", 10_000),
+            Long.getLong("biblioteca.cache.ttlMs", 300_000)
+        );
+    }
+
+    /**
+     * @return una copia del libro en caché, o null si no está o caducó
+     */
+    public Libro obtener(int id) {
+        Entrada entrada;
+        synchronized (entradas) {
+            entrada = entradas.get(id);
+            if (entrada != null && System.nanoTime() - entrada.creada > ttlNanos) {
+                entradas.remove(id);
+                caducadas.increment();
+                entrada = null;
+            }
+        }
+
+        if (entrada == null) {
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return copiar(entrada.libro);
+    }
+
+    /**
+     * Guarda un libro recién escrito en la base
+     */
+    public void guardar(Libro libro) {
+        Entrada entrada = new Entrada(copiar(libro), System.nanoTime());
+        synchronized (entradas) {
+            generacion++;
+            entradas.put(libro.getId(), entrada);
+        }
+    }
+
+    /**
+     * @return la generación actual, a tomar antes de leer de la base
+     */
+    public long marca() {
+        synchronized (entradas) {
+            return generacion;
+        }
+    }
+
+    /**
+     * Guarda un libro leído de la base solo si no hubo escrituras ni
+     * invalidaciones desde la marca tomada antes de leerlo
+     *
+     * @return true si se guardó
+     */
+    public boolean guardarSiVigente(Libro libro, long marca) {
+        Entrada entrada = new Entrada(copiar(libro), System.nanoTime());
+        synchronized (entradas) {
+            if (generacion != marca) {
+                return false;
+            }
+            entradas.put(libro.getId(), entrada);
+            return true;
+        }
+    }
+
+    public void invalidar(int id) {
+        synchronized (entradas) {
+            generacion++;
+            entradas.remove(id);
+        }
+    }
+
+    public void invalidarTodo() {
+        synchronized (entradas) {
+            generacion++;
+            entradas.clear();
+        }
+    }
+
+    private static Libro copiar(Libro libro) {
+        return new Libro(libro.getId(), libro.getNombre(), libro.getAutor(),
+                libro.getFechaLanzamiento(), libro.getEditorial(), libro.getCosto());
+    }
+
+    public int getTamano() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public long getCaducadas() {
+        return caducadas.sum();
+    }
+
+    public double getTasaAciertos() {
+        long total = getAciertos() + getFallos();
+        return total == 0 ? 0.0 : (double) getAciertos() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheLibros{tamano=%d/%d, aciertos=%d, fallos=%d, tasa=%.1f%%, expulsiones=%d, caducadas=%d}",
+                getTamano(), tamanoMaximo, getAciertos(), getFallos(), getTasaAciertos() * 100,
+                getExpulsiones(), getCaducadas());
+    }
+
+    private static class Entrada {
+        final Libro libro;
+        final long creada;
+
+        Entrada(Libro libro, long creada) {
+            this.libro = libro;
+            this.creada = creada;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.database.IndiceTextoCompleto;
+import com.biblioteca.modelo.Libro;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Criterios de un listado de libros: orden y filtros opcionales.
+ *
+ * LibroDAO la convierte en SQL parametrizado (consultar, consultarDespuesDe, contar),
+ * de modo que ordenar o filtrar el catálogo nunca lo carga entero en memoria.
+ * Los filtros vacíos (null) no se aplican.
+ *
+ * <pre>
+ * ConsultaLibros consulta = new ConsultaLibros()
+ *     .ordenarPor(ConsultaLibros.Columna.FECHA, true)
+ *     .conEditorial("Anagrama")
+ *     .conCostoEntre(100.0, 300.0);
+ * </pre>
+ */
+public class ConsultaLibros {
+
+    /**
+     * Columnas por las que se puede ordenar. El ID se agrega siempre como desempate,
+     * así el orden es total y se puede paginar por clave.
+     */
+    public enum Columna {
+        ID("id", Libro::getId),
+        NOMBRE("nombre", Libro::getNombre),
+        AUTOR("autor", Libro::getAutor),
+        FECHA("fecha_lanzamiento", libro -> libro.getFechaLanzamiento().toEpochDay()),
+        EDITORIAL("editorial", Libro::getEditorial),
+        COSTO("costo", libro -> MapeadorLibro.aCentavos(libro.getCosto()));
+
+        private final String sql;
+        private final Function<Libro, Object> valor;
+
+        Columna(String sql, Function<Libro, Object> valor) {
+            this.sql = sql;
+            this.valor = valor;
+        }
+    }
+
+    private Columna orden = Columna.ID;
+    private boolean ascendente = false;
+
+    private String editorial;
+    private String autor;
+    private LocalDate fechaDesde;
+    private LocalDate fechaHasta;
+    private Double costoMinimo;
+    private Double costoMaximo;
+
+    public ConsultaLibros ordenarPor(Columna columna, boolean ascendente) {
+        this.orden = columna;
+        this.ascendente = ascendente;
+        return this;
+    }
+
+    /** Editorial exacta */
+    public ConsultaLibros conEditorial(String editorial) {
+        this.editorial = vacioANull(editorial);
+        return this;
+    }
+
+    /** Autor que contiene las palabras indicadas (por prefijo, como la búsqueda) */
+    public ConsultaLibros conAutor(String autor) {
+        this.autor = vacioANull(autor);
+        return this;
+    }
+
+    /** Fecha de lanzamiento entre desde y hasta, inclusive; cualquiera de los dos puede ser null */
+    public ConsultaLibros conFechaEntre(LocalDate desde, LocalDate hasta) {
+        this.fechaDesde = desde;
+        this.fechaHasta = hasta;
+        return this;
+    }
+
+    /** Costo entre minimo y maximo, inclusive; cualquiera de los dos puede ser null */
+    public ConsultaLibros conCostoEntre(Double minimo, Double maximo) {
+        this.costoMinimo = minimo;
+        this.costoMaximo = maximo;
+        return this;
+    }
+
+    public Columna getOrden() {
+        return orden;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    /** true si hay algún filtro además del orden */
+    public boolean tieneFiltros() {
+        return editorial != null || autor != null || fechaDesde != null || fechaHasta != null
+                || costoMinimo != null || costoMaximo != null;
+    }
+
+    /**
+     * Copia con los mismos filtros y otro orden
+     */
+    public ConsultaLibros conOrden(Columna columna, boolean ascendente) {
+        ConsultaLibros copia = new ConsultaLibros();
+        copia.editorial = editorial;
+        copia.autor = autor;
+        copia.fechaDesde = fechaDesde;
+        copia.fechaHasta = fechaHasta;
+        copia.costoMinimo = costoMinimo;
+        copia.costoMaximo = costoMaximo;
+        return copia.ordenarPor(columna, ascendente);
+    }
+
+    /**
+     * Condiciones WHERE (sin la palabra WHERE), agregando sus valores a parametros
+     */
+    List<String> condiciones(List<Object> parametros) {
+        List<String> condiciones = new ArrayList<>();
+
+        if (editorial != null) {
+            condiciones.add("editorial = ?");
+            parametros.add(editorial);
+        }
+        if (autor != null) {
+            String consulta = IndiceTextoCompleto.construirConsulta(autor);
+            if (consulta != null) {
+                // Filtro de columna de FTS5: solo coincide en autor
+                condiciones.add("id IN (SELECT rowid FROM libros_fts WHERE libros_fts MATCH ?)");
+                parametros.add("autor : (" + consulta + ")");
+            } else {
+                condiciones.add("autor LIKE ?");
+                parametros.add("%" + autor + "%");
+            }
+        }
+        if (fechaDesde != null) {
+            condiciones.add("fecha_lanzamiento >= ?");
+            parametros.add(fechaDesde.toEpochDay());
+        }
+        if (fechaHasta != null) {
+            condiciones.add("fecha_lanzamiento <= ?");
+            parametros.add(fechaHasta.toEpochDay());
+        }
+        if (costoMinimo != null) {
+            condiciones.add("costo >= ?");
+            parametros.add(MapeadorLibro.aCentavos(costoMinimo));
+        }
+        if (costoMaximo != null) {
+            condiciones.add("costo <= ?");
+            parametros.add(MapeadorLibro.aCentavos(costoMaximo));
+        }
+        return condiciones;
+    }
+
+    /**
+     * Condición de paginación por clave: filas que van después de ultimo en este orden
+     */
+    String condicionDespuesDe(Libro ultimo, List<Object> parametros) {
+        String comparador = ascendente ? ">" : "<";
+        if (orden == Columna.ID) {
+            parametros.add(ultimo.getId());
+            return "id " + comparador + " ?";
+        }
+        parametros.add(orden.valor.apply(ultimo));
+        parametros.add(ultimo.getId());
+        return "(" + orden.sql + ", id) " + comparador + " (?, ?)";
+    }
+
+    String ordenSql() {
+        String direccion = ascendente ? " ASC" : " DESC";
+        if (orden == Columna.ID) {
+            return "id" + direccion;
+        }
+        return orden.sql + direccion + ", id" + direccion;
+    }
+
+    private static String vacioANull(String texto) {
+        return texto == null || texto.isBlank() ? null : texto.trim();
+    }
+}
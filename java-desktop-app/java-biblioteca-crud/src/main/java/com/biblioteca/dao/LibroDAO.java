@@ -1,43 +1,91 @@
 package com.biblioteca.dao;
 
+import com.biblioteca.bitacora.Bitacora;
+import com.biblioteca.database.CargaMasiva;
 import com.biblioteca.database.ConexionDB;
+import com.biblioteca.database.IndiceTextoCompleto;
+import com.biblioteca.database.VersionDatos;
+import com.biblioteca.metricas.MedidorOperacion;
+import com.biblioteca.metricas.Metricas;
 import com.biblioteca.modelo.Libro;
+import com.biblioteca.modelo.ValidadorLibro;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object para operaciones CRUD de Libros
+ *
+ * Cada operación pública registra su latencia, errores y filas en Metricas
+ * (por ejemplo "LibroDAO.buscar").
  */
-public class LibroDAO {
+public class LibroDAO implements RepositorioLibros {
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO libros (nombre, autor, fecha_lanzamiento, editorial, costo) VALUES (?, ?, ?, ?, ?)";
+
+    private static final Bitacora LOG = Bitacora.para(LibroDAO.class);
+
+    private static final MedidorOperacion METRICA_INSERTAR = Metricas.operacion("LibroDAO.insertar");
+    private static final MedidorOperacion METRICA_INSERTAR_LOTE = Metricas.operacion("LibroDAO.insertarLote");
+    private static final MedidorOperacion METRICA_INSERTAR_MASIVO = Metricas.operacion("LibroDAO.insertarLoteMasivo");
+    private static final MedidorOperacion METRICA_OBTENER_TODOS = Metricas.operacion("LibroDAO.obtenerTodos");
+    private static final MedidorOperacion METRICA_SI_CAMBIO = Metricas.operacion("LibroDAO.obtenerTodosSiCambio");
+    private static final MedidorOperacion METRICA_OBTENER_PAGINA = Metricas.operacion("LibroDAO.obtenerPagina");
+    private static final MedidorOperacion METRICA_PAGINA_POSICION = Metricas.operacion("LibroDAO.obtenerPaginaPorPosicion");
+    private static final MedidorOperacion METRICA_CONTAR = Metricas.operacion("LibroDAO.contar");
+    private static final MedidorOperacion METRICA_RECORRER = Metricas.operacion("LibroDAO.recorrer");
+    private static final MedidorOperacion METRICA_RANGO_FECHAS = Metricas.operacion("LibroDAO.obtenerPorRangoFechas");
+    private static final MedidorOperacion METRICA_RANGO_COSTO = Metricas.operacion("LibroDAO.obtenerPorRangoCosto");
+    private static final MedidorOperacion METRICA_EDITORIAL = Metricas.operacion("LibroDAO.obtenerPorEditorial");
+    private static final MedidorOperacion METRICA_CONSULTAR = Metricas.operacion("LibroDAO.consultar");
+    private static final MedidorOperacion METRICA_CONSULTAR_DESPUES = Metricas.operacion("LibroDAO.consultarDespuesDe");
+    private static final MedidorOperacion METRICA_CONTAR_CONSULTA = Metricas.operacion("LibroDAO.contarConsulta");
+    private static final MedidorOperacion METRICA_OBTENER_POR_ID = Metricas.operacion("LibroDAO.obtenerPorId");
+    private static final MedidorOperacion METRICA_BUSCAR = Metricas.operacion("LibroDAO.buscar");
+    private static final MedidorOperacion METRICA_BUSCAR_LIKE = Metricas.operacion("LibroDAO.buscarConLike");
+    private static final MedidorOperacion METRICA_ACTUALIZAR = Metricas.operacion("LibroDAO.actualizar");
+    private static final MedidorOperacion METRICA_ELIMINAR = Metricas.operacion("LibroDAO.eliminar");
+    private static final MedidorOperacion METRICA_VERSION = Metricas.operacion("LibroDAO.obtenerVersionDatos");
 
     /**
-     * CREAR - Inserta un nuevo libro en la base de datos
+     * CREAR - Inserta un nuevo libro en la base de datos y le asigna el ID generado
      */
     public boolean insertar(Libro libro) {
-        String sql = "INSERT INTO libros (nombre, autor, fecha_lanzamiento, editorial, costo) VALUES (?, ?, ?, ?, ?)";
+        long inicio = METRICA_INSERTAR.iniciar();
+        String sql = SQL_INSERTAR;
 
         Connection conn = null;
         PreparedStatement pstmt = null;
 
         try {
-            conn = ConexionDB.getConexion();
+            conn = ConexionDB.getConexionEscritura();
             pstmt = conn.prepareStatement(sql);
 
             pstmt.setString(1, libro.getNombre());
             pstmt.setString(2, libro.getAutor());
-            pstmt.setString(3, libro.getFechaLanzamiento().toString());
+            pstmt.setLong(3, libro.getFechaLanzamiento().toEpochDay());
             pstmt.setString(4, libro.getEditorial());
-            pstmt.setDouble(5, libro.getCosto());
+            pstmt.setLong(5, MapeadorLibro.aCentavos(libro.getCosto()));
 
             int filasAfectadas = pstmt.executeUpdate();
+            if (filasAfectadas > 0) {
+                libro.setId(ultimoIdInsertado(conn));
+            }
+            METRICA_INSERTAR.terminar(inicio, filasAfectadas);
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error al insertar libro: " + e.getMessage());
-            e.printStackTrace();
+            METRICA_INSERTAR.fallar(inicio);
+            LOG.error("Error al insertar libro", e);
             return false;
         } finally {
             cerrarRecursos(conn, pstmt, null);
@@ -45,7 +93,167 @@ public class LibroDAO {
     }
 
     /**
-     * Cierra los recursos de base de datos de forma segura
+     * CREAR - Inserta muchos libros en transacciones de tamanoLote filas.
+     *
+     * Los libros inválidos se registran como fallos sin detener la importación.
+     * Si un lote falla en la base de datos, se deshace y se reintenta fila por fila
+     * para identificar las filas problemáticas. A los libros insertados se les asigna su ID.
+     */
+    public ResultadoLote insertarLote(Iterable<Libro> libros, int tamanoLote) {
+        return insertarLote(libros, tamanoLote, false, METRICA_INSERTAR_LOTE);
+    }
+
+    /**
+     * CREAR - Carga masiva en una sola transacción, con los índices suspendidos.
+     *
+     * Igual que insertarLote, pero los índices secundarios y el de texto completo se
+     * reconstruyen al final (ver CargaMasiva): conviene cuando se insertan muchas filas
+     * en relación al tamaño de la tabla. Si se interrumpe no queda nada insertado.
+     * Mientras dura, la conexión de escritura está ocupada.
+     */
+    public ResultadoLote insertarLoteMasivo(Iterable<Libro> libros, int tamanoLote) {
+        return insertarLote(libros, tamanoLote, true, METRICA_INSERTAR_MASIVO);
+    }
+
+    private ResultadoLote insertarLote(Iterable<Libro> libros, int tamanoLote, boolean masivo,
+                                       MedidorOperacion metrica) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño del lote debe ser al menos 1");
+        }
+
+        long inicio = metrica.iniciar();
+        ResultadoLote resultado = new ResultadoLote();
+        List<Libro> lote = new ArrayList<>(Math.min(tamanoLote, 10_000));
+        long[] indices = new long[Math.min(tamanoLote, 10_000)];
+        long indice = 0;
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            conn = ConexionDB.getConexionEscritura();
+            conn.setAutoCommit(false);
+            List<String> suspendidos = masivo ? CargaMasiva.suspenderIndices(conn) : List.of();
+            pstmt = conn.prepareStatement(SQL_INSERTAR);
+
+            for (Libro libro : libros) {
+                String errores = ValidadorLibro.validar(libro);
+                if (!errores.isEmpty()) {
+                    resultado.agregarFallo(indice++, libro, errores);
+                    continue;
+                }
+
+                asignarParametros(pstmt, libro);
+                pstmt.addBatch();
+                if (lote.size() == indices.length) {
+                    indices = Arrays.copyOf(indices, Math.min(indices.length * 2, tamanoLote));
+                }
+                indices[lote.size()] = indice++;
+                lote.add(libro);
+
+                if (lote.size() == tamanoLote) {
+                    ejecutarLote(conn, pstmt, lote, indices, resultado, !masivo);
+                }
+            }
+            if (!lote.isEmpty()) {
+                ejecutarLote(conn, pstmt, lote, indices, resultado, !masivo);
+            }
+            if (masivo) {
+                CargaMasiva.restaurarIndices(conn, suspendidos, resultado.getInsertados());
+                conn.commit();
+            }
+            metrica.terminar(inicio, resultado.getInsertados());
+
+        } catch (SQLException e) {
+            if (masivo) {
+                // Nada llegó a confirmarse
+                resultado.descartarIds();
+            }
+            metrica.sumarFilas(resultado.getInsertados());
+            metrica.fallar(inicio);
+            LOG.error("Error en la inserción por lotes", e);
+            resultado.setErrorGeneral(e.getMessage());
+        } finally {
+            // Al devolverse al pool se deshace lo no confirmado y se restaura el autocommit
+            cerrarRecursos(conn, pstmt, null);
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Ejecuta el lote pendiente. Si confirmar es false (carga masiva) el lote queda
+     * dentro de un savepoint de la transacción en curso en lugar de confirmarse.
+     */
+    private void ejecutarLote(Connection conn, PreparedStatement pstmt, List<Libro> lote,
+                              long[] indices, ResultadoLote resultado, boolean confirmar) throws SQLException {
+        Savepoint inicioLote = confirmar ? null : conn.setSavepoint();
+        try {
+            pstmt.executeBatch();
+            // Dentro de la transacción somos el único escritor, así que los IDs del lote son consecutivos
+            int ultimoId = ultimoIdInsertado(conn);
+            int primerId = ultimoId - lote.size() + 1;
+            if (confirmar) {
+                conn.commit();
+            } else {
+                conn.releaseSavepoint(inicioLote);
+            }
+
+            for (int i = 0; i < lote.size(); i++) {
+                lote.get(i).setId(primerId + i);
+            }
+            resultado.agregarIds(primerId, ultimoId);
+
+        } catch (BatchUpdateException e) {
+            if (confirmar) {
+                conn.rollback();
+            } else {
+                conn.rollback(inicioLote);
+            }
+            pstmt.clearBatch();
+            insertarFilaPorFila(conn, pstmt, lote, indices, resultado, confirmar);
+        }
+        lote.clear();
+    }
+
+    private void insertarFilaPorFila(Connection conn, PreparedStatement pstmt, List<Libro> lote,
+                                     long[] indices, ResultadoLote resultado, boolean confirmar) throws SQLException {
+        for (int i = 0; i < lote.size(); i++) {
+            Libro libro = lote.get(i);
+            try {
+                asignarParametros(pstmt, libro);
+                pstmt.executeUpdate();
+                int id = ultimoIdInsertado(conn);
+                libro.setId(id);
+                resultado.agregarIds(id, id);
+            } catch (SQLException e) {
+                resultado.agregarFallo(indices[i], libro, e.getMessage());
+            }
+        }
+        if (confirmar) {
+            conn.commit();
+        }
+    }
+
+    private int ultimoIdInsertado(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT last_insert_rowid()");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void asignarParametros(PreparedStatement pstmt, Libro libro) throws SQLException {
+        pstmt.setString(1, libro.getNombre());
+        pstmt.setString(2, libro.getAutor());
+        pstmt.setLong(3, libro.getFechaLanzamiento().toEpochDay());
+        pstmt.setString(4, libro.getEditorial());
+        pstmt.setLong(5, MapeadorLibro.aCentavos(libro.getCosto()));
+    }
+
+    /**
+     * Cierra los recursos de base de datos de forma segura.
+     * Cerrar la conexión la devuelve al pool de ConexionDB.
      */
     private void cerrarRecursos(Connection conn, Statement stmt, ResultSet rs) {
         try {
@@ -53,7 +261,7 @@ public class LibroDAO {
             if (stmt != null) stmt.close();
             if (conn != null) conn.close();
         } catch (SQLException e) {
-            System.err.println("Error al cerrar recursos: " + e.getMessage());
+            LOG.error("Error al cerrar recursos: {}", e.getMessage());
         }
     }
 
@@ -62,7 +270,8 @@ public class LibroDAO {
      */
     public List<Libro> obtenerTodos() {
         List<Libro> libros = new ArrayList<>();
-        String sql = "SELECT * FROM libros ORDER BY id DESC";
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros ORDER BY id DESC";
+        long inicio = METRICA_OBTENER_TODOS.iniciar();
 
         Connection conn = null;
         Statement stmt = null;
@@ -73,20 +282,15 @@ public class LibroDAO {
             stmt = conn.createStatement();
             rs = stmt.executeQuery(sql);
 
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
             while (rs.next()) {
-                Libro libro = new Libro();
-                libro.setId(rs.getInt("id"));
-                libro.setNombre(rs.getString("nombre"));
-                libro.setAutor(rs.getString("autor"));
-                libro.setFechaLanzamiento(LocalDate.parse(rs.getString("fecha_lanzamiento")));
-                libro.setEditorial(rs.getString("editorial"));
-                libro.setCosto(rs.getDouble("costo"));
-                libros.add(libro);
+                libros.add(mapeador.mapear(rs));
             }
+            METRICA_OBTENER_TODOS.terminar(inicio, libros.size());
 
         } catch (SQLException e) {
-            System.err.println("Error al obtener libros: " + e.getMessage());
-            e.printStackTrace();
+            METRICA_OBTENER_TODOS.fallar(inicio);
+            LOG.error("Error al obtener libros", e);
         } finally {
             cerrarRecursos(conn, stmt, rs);
         }
@@ -94,11 +298,335 @@ public class LibroDAO {
         return libros;
     }
 
+    /**
+     * CONSULTAR - Todos los libros, solo si cambiaron desde la versión que ya tiene quien llama.
+     *
+     * Es el equivalente a una petición condicional (If-None-Match): si la versión de
+     * los datos sigue siendo versionConocida no se lee la tabla, solo el contador.
+     *
+     * @param versionConocida versión de la última lista recibida, o -1 si no hay ninguna
+     * @return la lista con su versión, o null si los datos no cambiaron
+     */
+    public ListaVersionada obtenerTodosSiCambio(long versionConocida) {
+        long inicio = METRICA_SI_CAMBIO.iniciar();
+        // La versión se lee antes que los datos: si algo cambia en medio, la próxima llamada vuelve a leer
+        long version = obtenerVersionDatos();
+        if (version >= 0 && version == versionConocida) {
+            METRICA_SI_CAMBIO.terminar(inicio, 0);
+            return null;
+        }
+        List<Libro> libros = obtenerTodos();
+        METRICA_SI_CAMBIO.terminar(inicio, libros.size());
+        return new ListaVersionada(version, libros);
+    }
+
+    /**
+     * CONSULTAR - Obtiene una página de libros ordenada por ID descendente.
+     *
+     * Usa paginación por clave (id < ultimoId) en lugar de OFFSET, así que pedir
+     * la página 1000 cuesta lo mismo que pedir la primera.
+     *
+     * @param ultimoId ID del último libro de la página anterior, o 0 para la primera página
+     */
+    public List<Libro> obtenerPagina(int ultimoId, int tamanoPagina) {
+        List<Libro> libros = new ArrayList<>(tamanoPagina);
+        String sql = ultimoId > 0
+                ? "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE id < ? ORDER BY id DESC LIMIT ?"
+                : "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros ORDER BY id DESC LIMIT ?";
+        long inicio = METRICA_OBTENER_PAGINA.iniciar();
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            pstmt = conn.prepareStatement(sql);
+            int parametro = 1;
+            if (ultimoId > 0) {
+                pstmt.setInt(parametro++, ultimoId);
+            }
+            pstmt.setInt(parametro, tamanoPagina);
+            rs = pstmt.executeQuery();
+
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
+            while (rs.next()) {
+                libros.add(mapeador.mapear(rs));
+            }
+            METRICA_OBTENER_PAGINA.terminar(inicio, libros.size());
+
+        } catch (SQLException e) {
+            METRICA_OBTENER_PAGINA.fallar(inicio);
+            LOG.error("Error al obtener página de libros", e);
+        } finally {
+            cerrarRecursos(conn, pstmt, rs);
+        }
+
+        return libros;
+    }
+
+    /**
+     * CONSULTAR - Obtiene la página que empieza en la posición desplazamiento (ID descendente).
+     *
+     * Sirve para saltar a cualquier parte del listado; cuando se conoce el último ID
+     * de la página anterior, obtenerPagina es más barato porque no recorre las filas saltadas.
+     */
+    public List<Libro> obtenerPaginaPorPosicion(int desplazamiento, int tamanoPagina) {
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros ORDER BY id DESC LIMIT ? OFFSET ?";
+        return consultarLista(sql, METRICA_PAGINA_POSICION, "Error al obtener página de libros", tamanoPagina, desplazamiento);
+    }
+
+    /**
+     * CONSULTAR - Cuenta los libros
+     * @return el total, o -1 si no se pudo contar
+     */
+    public int contar() {
+        long inicio = METRICA_CONTAR.iniciar();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            pstmt = conn.prepareStatement("SELECT COUNT(*) FROM libros");
+            rs = pstmt.executeQuery();
+            int total = rs.next() ? rs.getInt(1) : 0;
+            METRICA_CONTAR.terminar(inicio, 0);
+            return total;
+        } catch (SQLException e) {
+            METRICA_CONTAR.fallar(inicio);
+            LOG.error("Error al contar libros: {}", e.getMessage());
+            return -1;
+        } finally {
+            cerrarRecursos(conn, pstmt, rs);
+        }
+    }
+
+    /**
+     * CONSULTAR - Recorre los libros con id menor que ultimoId (0 para todos)
+     * leyendo del cursor de tamanoFetch en tamanoFetch filas, en orden de ID descendente.
+     *
+     * El Stream mantiene abiertos la conexión y el ResultSet hasta que se cierra,
+     * por eso debe usarse siempre con try-with-resources:
+     * <pre>
+     * try (Stream&lt;Libro&gt; libros = dao.recorrerTodos()) { ... }
+     * </pre>
+     */
+    public Stream<Libro> recorrer(int ultimoId, int tamanoFetch) {
+        if (ultimoId > 0) {
+            String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE id < ? ORDER BY id DESC";
+            return recorrerCursor(sql, tamanoFetch, ultimoId);
+        }
+        return recorrerCursor("SELECT " + MapeadorLibro.COLUMNAS + " FROM libros ORDER BY id DESC", tamanoFetch);
+    }
+
+    /**
+     * CONSULTAR - Recorre los libros con los filtros y el orden de la consulta
+     * sin cargarlos en memoria. Igual que recorrerTodos, el Stream debe cerrarse.
+     */
+    public Stream<Libro> recorrer(ConsultaLibros consulta, int tamanoFetch) {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros"
+                + clausulaWhere(consulta.condiciones(parametros))
+                + " ORDER BY " + consulta.ordenSql();
+        return recorrerCursor(sql, tamanoFetch, parametros.toArray());
+    }
+
+    private Stream<Libro> recorrerCursor(String sql, int tamanoFetch, Object... parametros) {
+        long inicio = METRICA_RECORRER.iniciar();
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setFetchSize(tamanoFetch);
+            for (int i = 0; i < parametros.length; i++) {
+                pstmt.setObject(i + 1, parametros[i]);
+            }
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            METRICA_RECORRER.fallar(inicio);
+            LOG.error("Error al recorrer libros", e);
+            cerrarRecursos(conn, pstmt, rs);
+            return Stream.empty();
+        }
+
+        final Connection connAbierta = conn;
+        final PreparedStatement pstmtAbierto = pstmt;
+        final ResultSet cursor = rs;
+        final MapeadorLibro mapeador;
+        try {
+            mapeador = new MapeadorLibro(cursor);
+        } catch (SQLException e) {
+            METRICA_RECORRER.fallar(inicio);
+            LOG.error("Error al recorrer libros: {}", e.getMessage());
+            cerrarRecursos(conn, pstmt, rs);
+            return Stream.empty();
+        }
+
+        // Se mide el recorrido completo, desde la consulta hasta que se cierra el Stream
+        long[] leidas = new long[1];
+        boolean[] fallo = new boolean[1];
+        Spliterator<Libro> filas = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Libro> accion) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    leidas[0]++;
+                    accion.accept(mapeador.mapear(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    fallo[0] = true;
+                    throw new IllegalStateException("Error al leer el cursor de libros: " + e.getMessage(), e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(filas, false)
+                .onClose(() -> {
+                    cerrarRecursos(connAbierta, pstmtAbierto, cursor);
+                    METRICA_RECORRER.sumarFilas(leidas[0]);
+                    if (fallo[0]) {
+                        METRICA_RECORRER.fallar(inicio);
+                    } else {
+                        METRICA_RECORRER.terminar(inicio, 0);
+                    }
+                });
+    }
+
+    /**
+     * CONSULTAR - Libros publicados entre dos fechas (inclusive), usa idx_libros_fecha
+     */
+    public List<Libro> obtenerPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE fecha_lanzamiento BETWEEN ? AND ? ORDER BY fecha_lanzamiento, id";
+        return consultarLista(sql, METRICA_RANGO_FECHAS, "Error al obtener libros por fecha", desde.toEpochDay(), hasta.toEpochDay());
+    }
+
+    /**
+     * CONSULTAR - Libros con costo entre dos valores (inclusive), usa idx_libros_costo
+     */
+    public List<Libro> obtenerPorRangoCosto(double minimo, double maximo) {
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE costo BETWEEN ? AND ? ORDER BY costo, id";
+        return consultarLista(sql, METRICA_RANGO_COSTO, "Error al obtener libros por costo", MapeadorLibro.aCentavos(minimo), MapeadorLibro.aCentavos(maximo));
+    }
+
+    /**
+     * CONSULTAR - Libros de una editorial, usa idx_libros_editorial
+     */
+    public List<Libro> obtenerPorEditorial(String editorial) {
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE editorial = ? ORDER BY id DESC";
+        return consultarLista(sql, METRICA_EDITORIAL, "Error al obtener libros por editorial", editorial);
+    }
+
+    /**
+     * CONSULTAR - Página de libros con los filtros y el orden de la consulta,
+     * empezando en la posición desplazamiento
+     */
+    public List<Libro> consultar(ConsultaLibros consulta, int desplazamiento, int limite) {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros"
+                + clausulaWhere(consulta.condiciones(parametros))
+                + " ORDER BY " + consulta.ordenSql() + " LIMIT ? OFFSET ?";
+        parametros.add(limite);
+        parametros.add(desplazamiento);
+        return consultarLista(sql, METRICA_CONSULTAR, "Error al consultar libros", parametros.toArray());
+    }
+
+    /**
+     * CONSULTAR - Página de libros que siguen a ultimo en el orden de la consulta.
+     * Paginación por clave: no recorre las filas anteriores como OFFSET.
+     */
+    public List<Libro> consultarDespuesDe(ConsultaLibros consulta, Libro ultimo, int limite) {
+        List<Object> parametros = new ArrayList<>();
+        List<String> condiciones = consulta.condiciones(parametros);
+        condiciones.add(consulta.condicionDespuesDe(ultimo, parametros));
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros"
+                + clausulaWhere(condiciones)
+                + " ORDER BY " + consulta.ordenSql() + " LIMIT ?";
+        parametros.add(limite);
+        return consultarLista(sql, METRICA_CONSULTAR_DESPUES, "Error al consultar libros", parametros.toArray());
+    }
+
+    /**
+     * CONSULTAR - Cuenta los libros que cumplen los filtros de la consulta
+     * @return el total, o -1 si no se pudo contar
+     */
+    public int contar(ConsultaLibros consulta) {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM libros" + clausulaWhere(consulta.condiciones(parametros));
+        long inicio = METRICA_CONTAR_CONSULTA.iniciar();
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            pstmt = conn.prepareStatement(sql);
+            for (int i = 0; i < parametros.size(); i++) {
+                pstmt.setObject(i + 1, parametros.get(i));
+            }
+            rs = pstmt.executeQuery();
+            int total = rs.next() ? rs.getInt(1) : 0;
+            METRICA_CONTAR_CONSULTA.terminar(inicio, 0);
+            return total;
+        } catch (SQLException e) {
+            METRICA_CONTAR_CONSULTA.fallar(inicio);
+            LOG.error("Error al contar libros: {}", e.getMessage());
+            return -1;
+        } finally {
+            cerrarRecursos(conn, pstmt, rs);
+        }
+    }
+
+    private static String clausulaWhere(List<String> condiciones) {
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    private List<Libro> consultarLista(String sql, MedidorOperacion metrica, String mensajeError, Object... parametros) {
+        long inicio = metrica.iniciar();
+        List<Libro> libros = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            pstmt = conn.prepareStatement(sql);
+            for (int i = 0; i < parametros.length; i++) {
+                pstmt.setObject(i + 1, parametros[i]);
+            }
+            rs = pstmt.executeQuery();
+
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
+            while (rs.next()) {
+                libros.add(mapeador.mapear(rs));
+            }
+            metrica.terminar(inicio, libros.size());
+
+        } catch (SQLException e) {
+            metrica.fallar(inicio);
+            LOG.error(mensajeError, e);
+        } finally {
+            cerrarRecursos(conn, pstmt, rs);
+        }
+
+        return libros;
+    }
+
     /**
      * CONSULTAR - Obtiene un libro por su ID
      */
     public Libro obtenerPorId(int id) {
-        String sql = "SELECT * FROM libros WHERE id = ?";
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE id = ?";
+        long inicio = METRICA_OBTENER_POR_ID.iniciar();
 
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -110,20 +638,13 @@ public class LibroDAO {
             pstmt.setInt(1, id);
             rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                Libro libro = new Libro();
-                libro.setId(rs.getInt("id"));
-                libro.setNombre(rs.getString("nombre"));
-                libro.setAutor(rs.getString("autor"));
-                libro.setFechaLanzamiento(LocalDate.parse(rs.getString("fecha_lanzamiento")));
-                libro.setEditorial(rs.getString("editorial"));
-                libro.setCosto(rs.getDouble("costo"));
-                return libro;
-            }
+            Libro libro = rs.next() ? new MapeadorLibro(rs).mapear(rs) : null;
+            METRICA_OBTENER_POR_ID.terminar(inicio, libro != null ? 1 : 0);
+            return libro;
 
         } catch (SQLException e) {
-            System.err.println("Error al obtener libro: " + e.getMessage());
-            e.printStackTrace();
+            METRICA_OBTENER_POR_ID.fallar(inicio);
+            LOG.error("Error al obtener libro", e);
         } finally {
             cerrarRecursos(conn, pstmt, rs);
         }
@@ -132,11 +653,56 @@ public class LibroDAO {
     }
 
     /**
-     * CONSULTAR - Busca libros por nombre o autor
+     * CONSULTAR - Busca libros por nombre, autor o editorial.
+     *
+     * Usa el índice FTS5 (libros_fts) y ordena por relevancia. Solo si el término
+     * no puede resolverse con el índice se recurre a un LIKE sobre la tabla.
      */
     public List<Libro> buscar(String termino) {
+        String consulta = IndiceTextoCompleto.construirConsulta(termino);
+        if (consulta == null) {
+            return buscarConLike(termino);
+        }
+
+        List<Libro> libros = new ArrayList<>();
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS_CALIFICADAS + " FROM libros_fts JOIN libros ON libros.id = libros_fts.rowid "
+                + "WHERE libros_fts MATCH ? ORDER BY " + IndiceTextoCompleto.ORDEN_RELEVANCIA;
+        long inicio = METRICA_BUSCAR.iniciar();
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setString(1, consulta);
+            rs = pstmt.executeQuery();
+
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
+            while (rs.next()) {
+                libros.add(mapeador.mapear(rs));
+            }
+            METRICA_BUSCAR.terminar(inicio, libros.size());
+
+        } catch (SQLException e) {
+            METRICA_BUSCAR.fallar(inicio);
+            LOG.error("Error al buscar libros", e);
+        } finally {
+            cerrarRecursos(conn, pstmt, rs);
+        }
+
+        return libros;
+    }
+
+    /**
+     * CONSULTAR - Busca por subcadena en nombre, autor o editorial recorriendo la tabla
+     * (las mismas columnas que el índice FTS)
+     */
+    private List<Libro> buscarConLike(String termino) {
         List<Libro> libros = new ArrayList<>();
-        String sql = "SELECT * FROM libros WHERE nombre LIKE ? OR autor LIKE ? ORDER BY id DESC";
+        String sql = "SELECT " + MapeadorLibro.COLUMNAS + " FROM libros WHERE nombre LIKE ? OR autor LIKE ? OR editorial LIKE ? ORDER BY id DESC";
+        long inicio = METRICA_BUSCAR_LIKE.iniciar();
 
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -149,22 +715,18 @@ public class LibroDAO {
             String busqueda = "%" + termino + "%";
             pstmt.setString(1, busqueda);
             pstmt.setString(2, busqueda);
+            pstmt.setString(3, busqueda);
             rs = pstmt.executeQuery();
 
+            MapeadorLibro mapeador = new MapeadorLibro(rs);
             while (rs.next()) {
-                Libro libro = new Libro();
-                libro.setId(rs.getInt("id"));
-                libro.setNombre(rs.getString("nombre"));
-                libro.setAutor(rs.getString("autor"));
-                libro.setFechaLanzamiento(LocalDate.parse(rs.getString("fecha_lanzamiento")));
-                libro.setEditorial(rs.getString("editorial"));
-                libro.setCosto(rs.getDouble("costo"));
-                libros.add(libro);
+                libros.add(mapeador.mapear(rs));
             }
+            METRICA_BUSCAR_LIKE.terminar(inicio, libros.size());
 
         } catch (SQLException e) {
-            System.err.println("Error al buscar libros: " + e.getMessage());
-            e.printStackTrace();
+            METRICA_BUSCAR_LIKE.fallar(inicio);
+            LOG.error("Error al buscar libros", e);
         } finally {
             cerrarRecursos(conn, pstmt, rs);
         }
@@ -177,27 +739,29 @@ public class LibroDAO {
      */
     public boolean actualizar(Libro libro) {
         String sql = "UPDATE libros SET nombre = ?, autor = ?, fecha_lanzamiento = ?, editorial = ?, costo = ? WHERE id = ?";
+        long inicio = METRICA_ACTUALIZAR.iniciar();
 
         Connection conn = null;
         PreparedStatement pstmt = null;
 
         try {
-            conn = ConexionDB.getConexion();
+            conn = ConexionDB.getConexionEscritura();
             pstmt = conn.prepareStatement(sql);
 
             pstmt.setString(1, libro.getNombre());
             pstmt.setString(2, libro.getAutor());
-            pstmt.setString(3, libro.getFechaLanzamiento().toString());
+            pstmt.setLong(3, libro.getFechaLanzamiento().toEpochDay());
             pstmt.setString(4, libro.getEditorial());
-            pstmt.setDouble(5, libro.getCosto());
+            pstmt.setLong(5, MapeadorLibro.aCentavos(libro.getCosto()));
             pstmt.setInt(6, libro.getId());
 
             int filasAfectadas = pstmt.executeUpdate();
+            METRICA_ACTUALIZAR.terminar(inicio, filasAfectadas);
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error al actualizar libro: " + e.getMessage());
-            e.printStackTrace();
+            METRICA_ACTUALIZAR.fallar(inicio);
+            LOG.error("Error al actualizar libro", e);
             return false;
         } finally {
             cerrarRecursos(conn, pstmt, null);
@@ -209,24 +773,48 @@ public class LibroDAO {
      */
     public boolean eliminar(int id) {
         String sql = "DELETE FROM libros WHERE id = ?";
+        long inicio = METRICA_ELIMINAR.iniciar();
 
         Connection conn = null;
         PreparedStatement pstmt = null;
 
         try {
-            conn = ConexionDB.getConexion();
+            conn = ConexionDB.getConexionEscritura();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, id);
 
             int filasAfectadas = pstmt.executeUpdate();
+            METRICA_ELIMINAR.terminar(inicio, filasAfectadas);
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error al eliminar libro: " + e.getMessage());
-            e.printStackTrace();
+            METRICA_ELIMINAR.fallar(inicio);
+            LOG.error("Error al eliminar libro", e);
             return false;
         } finally {
             cerrarRecursos(conn, pstmt, null);
         }
     }
+
+    /**
+     * CONSULTAR - Versión actual de los datos; cambia con cada INSERT, UPDATE o DELETE
+     * @return la versión, o -1 si no se pudo leer
+     */
+    public long obtenerVersionDatos() {
+        long inicio = METRICA_VERSION.iniciar();
+        Connection conn = null;
+
+        try {
+            conn = ConexionDB.getConexion();
+            long version = VersionDatos.leer(conn);
+            METRICA_VERSION.terminar(inicio, 0);
+            return version;
+        } catch (SQLException e) {
+            METRICA_VERSION.fallar(inicio);
+            LOG.error("Error al obtener la versión de los datos: {}", e.getMessage());
+            return -1;
+        } finally {
+            cerrarRecursos(conn, null, null);
+        }
+    }
 }
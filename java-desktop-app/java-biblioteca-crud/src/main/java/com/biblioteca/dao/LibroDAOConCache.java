@@ -0,0 +1,194 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.modelo.Libro;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio con caché de lectura para obtenerPorId.
+ *
+ * Decora otro RepositorioLibros delegando cada método de forma explícita: las consultas por ID se sirven desde CacheLibros cuando
+ * es posible, y las escrituras actualizan o invalidan la caché después de llegar
+ * a la base (write-through). Las consultas de listas pasan directo al DAO decorado.
+ *
+ * Los cambios hechos por otros procesos se detectan con la versión de los datos:
+ * cuando obtenerVersionDatos (u obtenerTodosSiCambio) devuelve una versión distinta
+ * de la última vista, se vacía la caché. Mientras nadie consulte la versión, esos
+ * cambios se ven como mucho tras el TTL.
+ */
+public class LibroDAOConCache implements RepositorioLibros {
+
+    private final RepositorioLibros delegado;
+    private final CacheLibros cache;
+    private final AtomicLong versionVista = new AtomicLong(-1);
+
+    public LibroDAOConCache(RepositorioLibros delegado) {
+        this(delegado, CacheLibros.desdeSistema());
+    }
+
+    public LibroDAOConCache(RepositorioLibros delegado, CacheLibros cache) {
+        this.delegado = delegado;
+        this.cache = cache;
+    }
+
+    /**
+     * CONSULTAR - Obtiene un libro por su ID, desde la caché si está
+     */
+    @Override
+    public Libro obtenerPorId(int id) {
+        Libro libro = cache.obtener(id);
+        if (libro != null) {
+            return libro;
+        }
+
+        // La marca va antes de leer: si una escritura termina mientras tanto,
+        // lo leído puede ser la fila anterior o ya borrada y no se guarda
+        long marca = cache.marca();
+        libro = delegado.obtenerPorId(id);
+        if (libro != null) {
+            cache.guardarSiVigente(libro, marca);
+        }
+        return libro;
+    }
+
+    @Override
+    public boolean insertar(Libro libro) {
+        boolean exito = delegado.insertar(libro);
+        if (exito) {
+            cache.guardar(libro);
+        }
+        return exito;
+    }
+
+    @Override
+    public boolean actualizar(Libro libro) {
+        boolean exito = delegado.actualizar(libro);
+        if (exito) {
+            cache.guardar(libro);
+        } else {
+            cache.invalidar(libro.getId());
+        }
+        return exito;
+    }
+
+    @Override
+    public boolean eliminar(int id) {
+        // Después de borrar, para que las lecturas que empezaron antes no guarden el libro
+        boolean exito = delegado.eliminar(id);
+        cache.invalidar(id);
+        return exito;
+    }
+
+    @Override
+    public ResultadoLote insertarLote(Iterable<Libro> libros, int tamanoLote) {
+        // Los IDs nuevos no pueden estar en caché
+        return delegado.insertarLote(libros, tamanoLote);
+    }
+
+    @Override
+    public ResultadoLote insertarLoteMasivo(Iterable<Libro> libros, int tamanoLote) {
+        return delegado.insertarLoteMasivo(libros, tamanoLote);
+    }
+
+    @Override
+    public List<Libro> obtenerTodos() {
+        return delegado.obtenerTodos();
+    }
+
+    @Override
+    public ListaVersionada obtenerTodosSiCambio(long versionConocida) {
+        ListaVersionada lista = delegado.obtenerTodosSiCambio(versionConocida);
+        if (lista != null) {
+            registrarVersion(lista.version());
+        }
+        return lista;
+    }
+
+    @Override
+    public List<Libro> obtenerPagina(int ultimoId, int tamanoPagina) {
+        return delegado.obtenerPagina(ultimoId, tamanoPagina);
+    }
+
+    @Override
+    public List<Libro> obtenerPaginaPorPosicion(int desplazamiento, int tamanoPagina) {
+        return delegado.obtenerPaginaPorPosicion(desplazamiento, tamanoPagina);
+    }
+
+    @Override
+    public int contar() {
+        return delegado.contar();
+    }
+
+    @Override
+    public List<Libro> consultar(ConsultaLibros consulta, int desplazamiento, int limite) {
+        return delegado.consultar(consulta, desplazamiento, limite);
+    }
+
+    @Override
+    public List<Libro> consultarDespuesDe(ConsultaLibros consulta, Libro ultimo, int limite) {
+        return delegado.consultarDespuesDe(consulta, ultimo, limite);
+    }
+
+    @Override
+    public int contar(ConsultaLibros consulta) {
+        return delegado.contar(consulta);
+    }
+
+    @Override
+    public Stream<Libro> recorrer(int ultimoId, int tamanoFetch) {
+        return delegado.recorrer(ultimoId, tamanoFetch);
+    }
+
+    @Override
+    public Stream<Libro> recorrer(ConsultaLibros consulta, int tamanoFetch) {
+        return delegado.recorrer(consulta, tamanoFetch);
+    }
+
+    @Override
+    public List<Libro> buscar(String termino) {
+        return delegado.buscar(termino);
+    }
+
+    @Override
+    public List<Libro> obtenerPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        return delegado.obtenerPorRangoFechas(desde, hasta);
+    }
+
+    @Override
+    public List<Libro> obtenerPorRangoCosto(double minimo, double maximo) {
+        return delegado.obtenerPorRangoCosto(minimo, maximo);
+    }
+
+    @Override
+    public List<Libro> obtenerPorEditorial(String editorial) {
+        return delegado.obtenerPorEditorial(editorial);
+    }
+
+    @Override
+    public long obtenerVersionDatos() {
+        long version = delegado.obtenerVersionDatos();
+        registrarVersion(version);
+        return version;
+    }
+
+    /**
+     * Vacía la caché si la versión cambió desde la última vista. Las escrituras de
+     * este DAO también cambian la versión: vaciar de más solo cuesta volver a leer.
+     */
+    private void registrarVersion(long version) {
+        if (version < 0) {
+            return;
+        }
+        long anterior = versionVista.getAndSet(version);
+        if (anterior >= 0 && anterior != version) {
+            cache.invalidarTodo();
+        }
+    }
+
+    public CacheLibros getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.modelo.Libro;
+
+import java.util.List;
+
+/**
+ * Lista de libros junto con la versión de los datos (VersionDatos) con la que se leyó.
+ *
+ * Quien la guarda pasa la versión a la próxima consulta condicional
+ * (LibroDAO.obtenerTodosSiCambio) para no volver a leer la tabla si nada cambió.
+ */
+public record ListaVersionada(long version, List<Libro> libros) {}
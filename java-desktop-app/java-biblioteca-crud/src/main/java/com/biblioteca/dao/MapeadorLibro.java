@@ -0,0 +1,82 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.modelo.Libro;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Convierte filas de la tabla libros en objetos Libro.
+ *
+ * Se crea una vez por consulta: resuelve la posición de cada columna al principio
+ * y luego lee por índice, sin buscar por nombre en cada fila. Las consultas deben
+ * seleccionar COLUMNAS (o COLUMNAS_CALIFICADAS en un JOIN) en lugar de SELECT *.
+ */
+public final class MapeadorLibro {
+
+    /** Columnas que necesita el mapeador, en el orden en que se leen */
+    public static final String COLUMNAS = "id, nombre, autor, fecha_lanzamiento, editorial, costo";
+
+    /** Las mismas columnas con el nombre de la tabla, para consultas con JOIN */
+    public static final String COLUMNAS_CALIFICADAS =
+            "libros.id, libros.nombre, libros.autor, libros.fecha_lanzamiento, libros.editorial, libros.costo";
+
+    // Caché de fechas de asignación directa: muchos libros comparten fecha y LocalDate es inmutable.
+    // 65536 días (unos 180 años) sin colisiones; ocupa 256 KB como mucho.
+    // Compartida entre hilos sin sincronizar: en el peor caso se crea una fecha de más.
+    private static final int TAMANO_CACHE_FECHAS = 1 << 16;
+    private static final LocalDate[] CACHE_FECHAS = new LocalDate[TAMANO_CACHE_FECHAS];
+
+    private final int columnaId;
+    private final int columnaNombre;
+    private final int columnaAutor;
+    private final int columnaFecha;
+    private final int columnaEditorial;
+    private final int columnaCosto;
+
+    public MapeadorLibro(ResultSet rs) throws SQLException {
+        this.columnaId = rs.findColumn("id");
+        this.columnaNombre = rs.findColumn("nombre");
+        this.columnaAutor = rs.findColumn("autor");
+        this.columnaFecha = rs.findColumn("fecha_lanzamiento");
+        this.columnaEditorial = rs.findColumn("editorial");
+        this.columnaCosto = rs.findColumn("costo");
+    }
+
+    /**
+     * Libro de la fila actual del ResultSet
+     */
+    public Libro mapear(ResultSet rs) throws SQLException {
+        return new Libro(
+            rs.getInt(columnaId),
+            rs.getString(columnaNombre),
+            rs.getString(columnaAutor),
+            fecha(rs.getLong(columnaFecha)),
+            rs.getString(columnaEditorial),
+            desdeCentavos(rs.getLong(columnaCosto))
+        );
+    }
+
+    /**
+     * Fecha para un día desde 1970-01-01, reutilizando la instancia si ya se creó
+     */
+    public static LocalDate fecha(long diaEpoca) {
+        int posicion = (int) Math.floorMod(diaEpoca, (long) TAMANO_CACHE_FECHAS);
+        LocalDate fecha = CACHE_FECHAS[posicion];
+        if (fecha == null || fecha.toEpochDay() != diaEpoca) {
+            fecha = LocalDate.ofEpochDay(diaEpoca);
+            CACHE_FECHAS[posicion] = fecha;
+        }
+        return fecha;
+    }
+
+    // El costo se guarda en centavos (INTEGER) para no arrastrar errores de redondeo
+    public static long aCentavos(double costo) {
+        return Math.round(costo * 100);
+    }
+
+    public static double desdeCentavos(long centavos) {
+        return centavos / 100.0;
+    }
+}
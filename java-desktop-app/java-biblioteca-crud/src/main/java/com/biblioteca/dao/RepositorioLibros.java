@@ -0,0 +1,99 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.modelo.Libro;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Operaciones sobre los libros. LibroDAO las implementa contra SQLite y
+ * LibroDAOConCache las decora con una caché por ID; el resto de la aplicación
+ * depende solo de esta interfaz.
+ *
+ * Como en LibroDAO, los errores de la base no se lanzan: las escrituras devuelven
+ * false, los conteos y la versión -1 y las consultas una lista vacía o null.
+ */
+public interface RepositorioLibros {
+
+    /** Filas por transacción en las inserciones por lotes */
+    int TAMANO_LOTE_DEFECTO = 5_000;
+
+    /** Filas que se piden al cursor en cada lectura de los recorridos */
+    int TAMANO_FETCH_DEFECTO = 1_000;
+
+    /** CREAR - Inserta un libro y le asigna el ID generado */
+    boolean insertar(Libro libro);
+
+    /** CREAR - Inserta muchos libros en lotes de TAMANO_LOTE_DEFECTO */
+    default ResultadoLote insertarLote(Iterable<Libro> libros) {
+        return insertarLote(libros, TAMANO_LOTE_DEFECTO);
+    }
+
+    /** CREAR - Inserta los libros de un Stream sin cargarlos todos en memoria */
+    default ResultadoLote insertarLote(Stream<Libro> libros, int tamanoLote) {
+        return insertarLote((Iterable<Libro>) libros::iterator, tamanoLote);
+    }
+
+    /** CREAR - Inserta muchos libros en transacciones de tamanoLote filas */
+    ResultadoLote insertarLote(Iterable<Libro> libros, int tamanoLote);
+
+    /** CREAR - Carga masiva en una sola transacción, con los índices suspendidos */
+    ResultadoLote insertarLoteMasivo(Iterable<Libro> libros, int tamanoLote);
+
+    /** CONSULTAR - Todos los libros */
+    List<Libro> obtenerTodos();
+
+    /** CONSULTAR - Todos los libros, o null si la versión sigue siendo versionConocida */
+    ListaVersionada obtenerTodosSiCambio(long versionConocida);
+
+    /** CONSULTAR - Página de libros con id menor que ultimoId (0 para la primera) */
+    List<Libro> obtenerPagina(int ultimoId, int tamanoPagina);
+
+    /** CONSULTAR - Página de libros a partir de una posición */
+    List<Libro> obtenerPaginaPorPosicion(int desplazamiento, int tamanoPagina);
+
+    /** CONSULTAR - Total de libros (-1 si no se pudo contar) */
+    int contar();
+
+    /** CONSULTAR - Recorre todos los libros sin cargarlos en memoria; el Stream debe cerrarse */
+    default Stream<Libro> recorrerTodos() {
+        return recorrer(0, TAMANO_FETCH_DEFECTO);
+    }
+
+    /** CONSULTAR - Recorre los libros con id menor que ultimoId (0 para todos); el Stream debe cerrarse */
+    Stream<Libro> recorrer(int ultimoId, int tamanoFetch);
+
+    /** CONSULTAR - Recorre los libros de una consulta; el Stream debe cerrarse */
+    Stream<Libro> recorrer(ConsultaLibros consulta, int tamanoFetch);
+
+    List<Libro> obtenerPorRangoFechas(LocalDate desde, LocalDate hasta);
+
+    List<Libro> obtenerPorRangoCosto(double minimo, double maximo);
+
+    List<Libro> obtenerPorEditorial(String editorial);
+
+    /** CONSULTAR - Página de una consulta a partir de una posición */
+    List<Libro> consultar(ConsultaLibros consulta, int desplazamiento, int limite);
+
+    /** CONSULTAR - Página de una consulta que sigue a ultimo (paginación por clave) */
+    List<Libro> consultarDespuesDe(ConsultaLibros consulta, Libro ultimo, int limite);
+
+    /** CONSULTAR - Libros que cumplen los filtros de la consulta (-1 si no se pudo contar) */
+    int contar(ConsultaLibros consulta);
+
+    /** CONSULTAR - Un libro por su ID, o null */
+    Libro obtenerPorId(int id);
+
+    /** CONSULTAR - Libros cuyo nombre, autor o editorial coinciden con el término */
+    List<Libro> buscar(String termino);
+
+    /** MODIFICAR - Actualiza todos los campos de un libro */
+    boolean actualizar(Libro libro);
+
+    /** ELIMINAR - Elimina un libro por su ID */
+    boolean eliminar(int id);
+
+    /** CONSULTAR - Versión de los datos, cambia con cada escritura (-1 si no se pudo leer) */
+    long obtenerVersionDatos();
+}
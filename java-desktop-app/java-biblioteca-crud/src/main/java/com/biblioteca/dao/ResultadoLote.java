@@ -0,0 +1,122 @@
+package com.biblioteca.dao;
+
+import com.biblioteca.modelo.Libro;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Resultado de una inserción por lotes.
+ *
+ * Los IDs generados se guardan como rangos consecutivos (uno por lote confirmado),
+ * así que importar millones de filas no obliga a guardar millones de enteros.
+ */
+public class ResultadoLote {
+
+    private int[] rangos = new int[16];   // pares [primerId, ultimoId]
+    private int numRangos = 0;
+    private long insertados = 0;
+    private final List<Fallo> fallos = new ArrayList<>();
+    private String errorGeneral;
+
+    void agregarIds(int primerId, int ultimoId) {
+        // Fusionar con el rango anterior si es contiguo
+        if (numRangos > 0 && rangos[numRangos * 2 - 1] + 1 == primerId) {
+            rangos[numRangos * 2 - 1] = ultimoId;
+        } else {
+            if (numRangos * 2 == rangos.length) {
+                rangos = Arrays.copyOf(rangos, rangos.length * 2);
+            }
+            rangos[numRangos * 2] = primerId;
+            rangos[numRangos * 2 + 1] = ultimoId;
+            numRangos++;
+        }
+        insertados += ultimoId - primerId + 1;
+    }
+
+    /** La transacción se deshizo: ningún ID llegó a la base */
+    void descartarIds() {
+        numRangos = 0;
+        insertados = 0;
+    }
+
+    void agregarFallo(long indice, Libro libro, String mensaje) {
+        fallos.add(new Fallo(indice, libro, mensaje));
+    }
+
+    void setErrorGeneral(String errorGeneral) {
+        this.errorGeneral = errorGeneral;
+    }
+
+    /**
+     * IDs generados, en el mismo orden en que se insertaron los libros válidos
+     */
+    public IntStream getIdsGenerados() {
+        return IntStream.range(0, numRangos)
+                .flatMap(i -> IntStream.rangeClosed(rangos[i * 2], rangos[i * 2 + 1]));
+    }
+
+    public long getInsertados() {
+        return insertados;
+    }
+
+    public List<Fallo> getFallos() {
+        return Collections.unmodifiableList(fallos);
+    }
+
+    /**
+     * Error que interrumpió la importación (por ejemplo, sin conexión); null si terminó
+     */
+    public String getErrorGeneral() {
+        return errorGeneral;
+    }
+
+    public boolean isCompleto() {
+        return errorGeneral == null && fallos.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{" +
+                "insertados=" + insertados +
+                ", fallos=" + fallos.size() +
+                ", errorGeneral='" + errorGeneral + '\'' +
+                '}';
+    }
+
+    /**
+     * Fila que no se pudo insertar
+     */
+    public static class Fallo {
+        private final long indice;
+        private final Libro libro;
+        private final String mensaje;
+
+        Fallo(long indice, Libro libro, String mensaje) {
+            this.indice = indice;
+            this.libro = libro;
+            this.mensaje = mensaje;
+        }
+
+        /** Posición (desde 0) del libro en la entrada */
+        public long getIndice() {
+            return indice;
+        }
+
+        public Libro getLibro() {
+            return libro;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        @Override
+        public String toString() {
+            return "Fallo{indice=" + indice + ", mensaje='" + mensaje.trim() + "'}";
+        }
+    }
+}
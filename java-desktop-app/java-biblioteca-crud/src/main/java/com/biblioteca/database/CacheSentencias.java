@@ -0,0 +1,210 @@
+package com.biblioteca.database;
+
+import com.biblioteca.bitacora.Bitacora;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sentencias preparadas de una conexión física, indexadas por el texto SQL.
+ *
+ * Así SQLite no vuelve a analizar y planificar la misma consulta cada vez que
+ * el DAO la prepara. Quien pide una sentencia recibe un proxy: cerrarlo limpia
+ * los parámetros y la deja lista para el siguiente uso, sin cerrarla de verdad.
+ * Solo se cierran al ser expulsadas (LRU) o al cerrarse la conexión.
+ */
+class CacheSentencias {
+
+    private static final Bitacora LOG = Bitacora.para(CacheSentencias.class);
+
+    private final Connection conexion;
+    private final int tamanoMaximo;
+    private final EstadisticasSentencias estadisticas;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    CacheSentencias(Connection conexion, int tamanoMaximo, EstadisticasSentencias estadisticas) {
+        this.conexion = conexion;
+        this.tamanoMaximo = tamanoMaximo;
+        this.estadisticas = estadisticas;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> mayor) {
+                if (size() > CacheSentencias.this.tamanoMaximo) {
+                    estadisticas.registrarExpulsion();
+                    mayor.getValue().expulsar();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Sentencia para sql, reutilizando la guardada si está libre
+     *
+     * @param conexionPrestada la conexión que ve el llamador (el proxy del pool),
+     *                         que devuelve getConnection() de la sentencia
+     */
+    synchronized PreparedStatement preparar(String sql, Connection conexionPrestada) throws SQLException {
+        if (tamanoMaximo == 0) {
+            return conexion.prepareStatement(sql);
+        }
+
+        Entrada entrada = entradas.get(sql);
+        if (entrada == null) {
+            estadisticas.registrarFallo();
+            entrada = new Entrada(conexion.prepareStatement(sql));
+            entradas.put(sql, entrada);
+        } else if (entrada.enUso != null) {
+            // Misma consulta abierta dos veces en la misma conexión: la segunda va aparte
+            estadisticas.registrarOcupada();
+            return conexion.prepareStatement(sql);
+        } else {
+            estadisticas.registrarAcierto();
+        }
+        return entrada.prestar(conexionPrestada);
+    }
+
+    /**
+     * Marca como libres las sentencias que el llamador no cerró antes de devolver la conexión
+     */
+    synchronized void liberarTodas() {
+        for (Entrada entrada : new ArrayList<>(entradas.values())) {
+            if (entrada.enUso != null) {
+                entrada.enUso.cerrar();
+            }
+        }
+    }
+
+    synchronized void cerrarTodas() {
+        List<Entrada> todas = new ArrayList<>(entradas.values());
+        entradas.clear();
+        for (Entrada entrada : todas) {
+            entrada.expulsar();
+        }
+    }
+
+    synchronized int getTamano() {
+        return entradas.size();
+    }
+
+    /**
+     * Sentencia real guardada en la caché
+     */
+    private class Entrada {
+        final PreparedStatement sentencia;
+        Uso enUso;
+        boolean expulsada = false;
+
+        Entrada(PreparedStatement sentencia) {
+            this.sentencia = sentencia;
+        }
+
+        PreparedStatement prestar(Connection conexionPrestada) {
+            enUso = new Uso(this, conexionPrestada);
+            return enUso.proxy;
+        }
+
+        void expulsar() {
+            expulsada = true;
+            // Si alguien la está usando se cierra cuando termine
+            if (enUso == null) {
+                cerrarSentencia(sentencia);
+            }
+        }
+    }
+
+    /**
+     * Un préstamo de una sentencia guardada: el proxy que recibe el llamador
+     */
+    private class Uso implements InvocationHandler {
+        final Entrada entrada;
+        final Connection conexionPrestada;
+        final PreparedStatement proxy;
+        boolean cerrado = false;
+
+        Uso(Entrada entrada, Connection conexionPrestada) {
+            this.entrada = entrada;
+            this.conexionPrestada = conexionPrestada;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    synchronized (CacheSentencias.this) {
+                        cerrar();
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrado || entrada.sentencia.isClosed();
+                case "getConnection":
+                    return conexionPrestada;
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "SentenciaEnCache[" + entrada.sentencia + "]";
+                default:
+                    break;
+            }
+
+            if (cerrado) {
+                throw new SQLException("La sentencia ya fue cerrada");
+            }
+            try {
+                return metodo.invoke(entrada.sentencia, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        void cerrar() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            entrada.enUso = null;
+
+            if (entrada.expulsada) {
+                cerrarSentencia(entrada.sentencia);
+                return;
+            }
+            try {
+                // Cerrar el cursor pendiente termina la lectura en SQLite
+                ResultSet pendiente = entrada.sentencia.getResultSet();
+                if (pendiente != null) {
+                    pendiente.close();
+                }
+                entrada.sentencia.clearParameters();
+                entrada.sentencia.clearBatch();
+                entrada.sentencia.setFetchSize(0);
+            } catch (SQLException e) {
+                LOG.advertencia("Sentencia descartada de la caché: {}", e.getMessage());
+                entradas.values().remove(entrada);
+                cerrarSentencia(entrada.sentencia);
+            }
+        }
+    }
+
+    private static void cerrarSentencia(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            LOG.error("Error al cerrar sentencia en caché: {}", e.getMessage());
+        }
+    }
+}
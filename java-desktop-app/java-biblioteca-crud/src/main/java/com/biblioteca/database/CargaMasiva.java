@@ -0,0 +1,86 @@
+package com.biblioteca.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suspende los índices de libros durante una carga masiva.
+ *
+ * Con cinco índices secundarios y el índice de texto completo (que SQLite vuelca
+ * en cada sentencia), insertar fila por fila es varias veces más lento que cargar
+ * la tabla sin índices y reconstruirlos al final. Las definiciones se leen de
+ * sqlite_master, así que se restauran tal como estaban.
+ *
+ * También se suspenden los triggers de VersionDatos, que harían un UPDATE por fila:
+ * al restaurar, la versión se incrementa una sola vez con todas las filas cargadas.
+ *
+ * Debe usarse dentro de una transacción: si se deshace, los índices vuelven solos.
+ */
+public class CargaMasiva {
+
+    private static final String SQL_DEFINICIONES = """
+            SELECT type, name, sql FROM sqlite_master
+            WHERE tbl_name = 'libros' AND sql IS NOT NULL
+              AND (type = 'index' OR (type = 'trigger' AND (name LIKE 'libros_fts_%' OR name LIKE 'version_datos_%')))
+            """;
+
+    private CargaMasiva() {}
+
+    /**
+     * Elimina los índices secundarios y los triggers del texto completo y de la versión
+     * @return las sentencias CREATE para restaurarlos
+     */
+    public static List<String> suspenderIndices(Connection conexion) throws SQLException {
+        List<String> definiciones = new ArrayList<>();
+        List<String> eliminar = new ArrayList<>();
+
+        try (PreparedStatement pstmt = conexion.prepareStatement(SQL_DEFINICIONES);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                String tipo = rs.getString("type").equals("index") ? "INDEX" : "TRIGGER";
+                definiciones.add(rs.getString("sql"));
+                eliminar.add("DROP " + tipo + " \"" + rs.getString("name").replace("\"", "\"\"") + "\"");
+            }
+        }
+
+        try (Statement stmt = conexion.createStatement()) {
+            for (String sql : eliminar) {
+                stmt.execute(sql);
+            }
+        }
+        return definiciones;
+    }
+
+    /**
+     * Vuelve a crear lo suspendido, reconstruye el texto completo si hacía falta y
+     * avanza la versión de los datos lo mismo que habrían sumado los triggers
+     * @param filasInsertadas filas cargadas mientras estuvo suspendido
+     */
+    public static void restaurarIndices(Connection conexion, List<String> definiciones,
+                                        long filasInsertadas) throws SQLException {
+        boolean textoCompleto = false;
+        boolean version = false;
+        try (Statement stmt = conexion.createStatement()) {
+            for (String sql : definiciones) {
+                stmt.execute(sql);
+                textoCompleto |= sql.contains("libros_fts");
+                version |= sql.contains("version_datos");
+            }
+            if (textoCompleto) {
+                stmt.execute("INSERT INTO libros_fts (libros_fts) VALUES ('rebuild')");
+            }
+        }
+        if (version && filasInsertadas > 0) {
+            try (PreparedStatement pstmt = conexion.prepareStatement(
+                    "UPDATE version_datos SET valor = valor + ? WHERE id = 1")) {
+                pstmt.setLong(1, filasInsertadas);
+                pstmt.executeUpdate();
+            }
+        }
+    }
+}
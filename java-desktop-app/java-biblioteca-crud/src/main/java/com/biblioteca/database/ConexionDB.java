@@ -1,49 +1,134 @@
 package com.biblioteca.database;
 
+import com.biblioteca.bitacora.Bitacora;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 
+/**
+ * Proveedor de conexiones a SQLite.
+ *
+ * Mantiene dos pools: uno de lectura con varias conexiones concurrentes y otro
+ * de escritura con una sola conexión, porque SQLite admite un único escritor.
+ * Cerrar la conexión obtenida la devuelve a su pool.
+ *
+ * Cada conexión se configura con el PerfilConexion elegido (WAL por defecto),
+ * de modo que las lecturas no se bloquean detrás de las escrituras.
+ */
 public class ConexionDB {
 
+    private static final Bitacora LOG = Bitacora.para(ConexionDB.class);
+
     // Ruta de la base de datos (se crea en la carpeta del proyecto)
-    private static final String URL = "jdbc:sqlite:biblioteca.db";
-    private static boolean tablaCreada = false;
+    private static final String URL = System.getProperty("biblioteca.db.url", "jdbc:sqlite:biblioteca.db");
+    private static final PerfilConexion PERFIL = PerfilConexion.desdeSistema();
+
+    // Se marca al terminar de crear los pools, para que cerrar no los cree solo para cerrarlos
+    private static volatile boolean poolsCreados = false;
+
+    // Los pools se crean la primera vez que se piden (inicialización perezosa y segura entre hilos)
+    private static class Pools {
+        static final PoolConexiones ESCRITURA = new PoolConexiones("escritura", URL, ConfiguracionPool.escritura(), PERFIL);
+        static final PoolConexiones LECTURA;
+
+        static {
+            try (Connection conexion = ESCRITURA.obtener()) {
+                Esquema.migrar(conexion);
+            } catch (SQLException e) {
+                // Sin esquema conocido no se abre la base: seguir con un esquema a medio migrar
+                // (o de una versión más nueva) es justo lo que las migraciones deben evitar
+                ESCRITURA.cerrar();
+                throw new IllegalStateException("No se pudo preparar la base de datos: " + e.getMessage(), e);
+            }
+            LECTURA = new PoolConexiones("lectura", URL, ConfiguracionPool.lectura(), PERFIL);
+            poolsCreados = true;
+            LOG.info("Conexión a SQLite establecida correctamente (perfil {}).", PERFIL.getNombre());
+        }
+
+        static void iniciar() {
+            // Solo fuerza la inicialización de la clase
+        }
+    }
+
+
+    /**
+     * INICIAR - Crea los pools y migra el esquema, si todavía no se hizo.
+     * Conviene llamarlo al arrancar, para fallar antes de mostrar datos.
+     * @throws IllegalStateException si la base no se puede preparar (por ejemplo,
+     *                               si su esquema es de una versión más nueva)
+     */
+    public static void iniciar() {
+        try {
+            Pools.iniciar();
+        } catch (ExceptionInInitializerError e) {
+            throw e.getCause() instanceof IllegalStateException causa
+                    ? causa : new IllegalStateException("No se pudo preparar la base de datos", e.getCause());
+        }
+    }
 
 
+    /**
+     * Obtiene una conexión para consultas
+     */
     public static Connection getConexion() throws SQLException {
-        Connection conexion = DriverManager.getConnection(URL);
+        return Pools.LECTURA.obtener();
+    }
+
+
+    /**
+     * Obtiene la conexión de escritura (INSERT, UPDATE, DELETE)
+     */
+    public static Connection getConexionEscritura() throws SQLException {
+        return Pools.ESCRITURA.obtener();
+    }
+
 
-        // Crear tabla solo la primera vez
-        if (!tablaCreada) {
-            crearTabla(conexion);
-            tablaCreada = true;
-            System.out.println("Conexión a SQLite establecida correctamente.");
+    /**
+     * Archivo de la base de datos, o null si la URL no apunta a un archivo (por ejemplo :memory:)
+     */
+    public static Path getRutaArchivo() {
+        String ruta = URL.substring(URL.indexOf(':', "jdbc:".length()) + 1);
+        if (ruta.startsWith("file:")) {
+            ruta = ruta.substring("file:".length());
         }
+        int parametros = ruta.indexOf('?');
+        if (parametros >= 0) {
+            ruta = ruta.substring(0, parametros);
+        }
+        if (ruta.isEmpty() || ruta.startsWith(":memory:")) {
+            return null;
+        }
+        return Paths.get(ruta);
+    }
 
-        return conexion;
+
+    /**
+     * Aciertos y fallos de la caché de sentencias del pool de lectura
+     */
+    public static EstadisticasSentencias getEstadisticasLectura() {
+        return Pools.LECTURA.getEstadisticasSentencias();
     }
 
 
-    private static void crearTabla(Connection conexion) {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS libros (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                nombre TEXT NOT NULL,
-                autor TEXT NOT NULL,
-                fecha_lanzamiento TEXT NOT NULL,
-                editorial TEXT NOT NULL,
-                costo REAL NOT NULL
-            )
-        """;
+    /**
+     * Aciertos y fallos de la caché de sentencias del pool de escritura
+     */
+    public static EstadisticasSentencias getEstadisticasEscritura() {
+        return Pools.ESCRITURA.getEstadisticasSentencias();
+    }
+
 
-        try (Statement stmt = conexion.createStatement()) {
-            stmt.execute(sql);
-            System.out.println("Tabla 'libros' verificada/creada correctamente.");
-        } catch (SQLException e) {
-            System.err.println("Error al crear la tabla: " + e.getMessage());
+    /**
+     * Cierra los pools al terminar la aplicación (no hace nada si nunca se crearon)
+     */
+    public static void cerrar() {
+        if (!poolsCreados) {
+            return;
         }
+        Pools.LECTURA.cerrar();
+        Pools.ESCRITURA.cerrar();
     }
 }
@@ -0,0 +1,96 @@
+package com.biblioteca.database;
+
+/**
+ * Parámetros del pool de conexiones.
+ * Los valores por defecto pueden sobrescribirse con propiedades del sistema
+ * (por ejemplo -Dbiblioteca.pool.lectores=8).
+ */
+public class ConfiguracionPool {
+
+    private final int tamanoMaximo;
+    private final long tiempoEsperaMs;
+    private final long tiempoInactivoMaxMs;
+    private final long umbralFugaMs;
+    private final long intervaloValidacionMs;
+    private final int sentenciasEnCache;
+
+    public ConfiguracionPool(int tamanoMaximo, long tiempoEsperaMs, long tiempoInactivoMaxMs,
+                             long umbralFugaMs, long intervaloValidacionMs) {
+        this(tamanoMaximo, tiempoEsperaMs, tiempoInactivoMaxMs, umbralFugaMs, intervaloValidacionMs, 0);
+    }
+
+    /**
+     * @param sentenciasEnCache sentencias preparadas que se conservan por conexión (0 para no guardar ninguna)
+     */
+    public ConfiguracionPool(int tamanoMaximo, long tiempoEsperaMs, long tiempoInactivoMaxMs,
+                             long umbralFugaMs, long intervaloValidacionMs, int sentenciasEnCache) {
+        if (tamanoMaximo < 1) {
+            throw new IllegalArgumentException("El tamaño del pool debe ser al menos 1");
+        }
+        if (sentenciasEnCache < 0) {
+            throw new IllegalArgumentException("El tamaño de la caché de sentencias no puede ser negativo");
+        }
+        this.tamanoMaximo = tamanoMaximo;
+        this.tiempoEsperaMs = tiempoEsperaMs;
+        this.tiempoInactivoMaxMs = tiempoInactivoMaxMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.intervaloValidacionMs = intervaloValidacionMs;
+        this.sentenciasEnCache = sentenciasEnCache;
+    }
+
+    /**
+     * Configuración para el pool de lectura (varias conexiones concurrentes)
+     */
+    public static ConfiguracionPool lectura() {
+        return new ConfiguracionPool(
+            Integer.getInteger("biblioteca.pool.lectores", 4),
+            Long.getLong("biblioteca.pool.esperaMs", 30_000),
+            Long.getLong("biblioteca.pool.inactivoMaxMs", 300_000),
+            Long.getLong("biblioteca.pool.umbralFugaMs", 60_000),
+            Long.getLong("biblioteca.pool.validacionMs", 5_000),
+            Integer.getInteger("biblioteca.pool.sentencias", 32)
+        );
+    }
+
+    /**
+     * Configuración para el pool de escritura. SQLite admite un solo escritor
+     * a la vez, así que las escrituras se serializan en una única conexión.
+     */
+    public static ConfiguracionPool escritura() {
+        return new ConfiguracionPool(
+            1,
+            Long.getLong("biblioteca.pool.esperaMs", 30_000),
+            Long.getLong("biblioteca.pool.inactivoMaxMs", 300_000),
+            Long.getLong("biblioteca.pool.umbralFugaMs", 60_000),
+            Long.getLong("biblioteca.pool.validacionMs", 5_000),
+            Integer.getInteger("biblioteca.pool.sentencias", 32)
+        );
+    }
+
+    public int getTamanoMaximo() {
+        return tamanoMaximo;
+    }
+
+    public long getTiempoEsperaMs() {
+        return tiempoEsperaMs;
+    }
+
+    public long getTiempoInactivoMaxMs() {
+        return tiempoInactivoMaxMs;
+    }
+
+    /**
+     * Tiempo prestada a partir del cual se avisa de una posible fuga (0 para no avisar)
+     */
+    public long getUmbralFugaMs() {
+        return umbralFugaMs;
+    }
+
+    public long getIntervaloValidacionMs() {
+        return intervaloValidacionMs;
+    }
+
+    public int getSentenciasEnCache() {
+        return sentenciasEnCache;
+    }
+}
@@ -0,0 +1,128 @@
+package com.biblioteca.database;
+
+import com.biblioteca.bitacora.Bitacora;
+import com.biblioteca.migraciones.Migrador;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migraciones del esquema de biblioteca.db.
+ *
+ * La versión del esquema se guarda en PRAGMA user_version: al abrir una base que
+ * ya está al día solo se lee ese número, sin ejecutar DDL. Un cambio de esquema
+ * se agrega como una migración nueva con el número siguiente; las existentes no
+ * se modifican.
+ */
+public class Esquema {
+
+    private static final Bitacora LOG = Bitacora.para(Esquema.class);
+
+    // La migración 1 parte de cualquier base anterior a user_version (vacía, con
+    // fechas en texto o con el esquema actual), por eso sus pasos comprueban lo que ya existe
+    private static final Migrador MIGRACIONES = new Migrador()
+            .agregar(1, "esquema inicial", Esquema::esquemaInicial);
+
+    private Esquema() {}
+
+    /**
+     * MIGRAR - Lleva la base a la última versión del esquema
+     */
+    public static void migrar(Connection conexion) throws SQLException {
+        for (String migracion : MIGRACIONES.migrar(conexion)) {
+            LOG.info("Migración de esquema aplicada: {}", migracion);
+        }
+        // El tokenizador se elige al arrancar (-Dbiblioteca.busqueda.tokenizador),
+        // así que no es parte de la versión: si cambió, se rehace solo el índice
+        if (!IndiceTextoCompleto.estaActualizado(conexion)) {
+            Migrador.enTransaccion(conexion, IndiceTextoCompleto::crear);
+        }
+    }
+
+    /**
+     * Versión del esquema que deja migrar
+     */
+    public static int getVersion() {
+        return MIGRACIONES.getVersionFinal();
+    }
+
+    private static void esquemaInicial(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS libros " + DEFINICION_LIBROS);
+        }
+        migrarTiposNativos(conexion);
+        crearIndices(conexion);
+        IndiceTextoCompleto.crear(conexion);
+        VersionDatos.crear(conexion);
+    }
+
+
+    // fecha_lanzamiento: días desde 1970-01-01 (LocalDate.toEpochDay); costo: centavos
+    private static final String DEFINICION_LIBROS = """
+            (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                nombre TEXT NOT NULL,
+                autor TEXT NOT NULL,
+                fecha_lanzamiento INTEGER NOT NULL,
+                editorial TEXT NOT NULL,
+                costo INTEGER NOT NULL
+            )
+        """;
+
+
+    /**
+     * Convierte una tabla libros del esquema anterior (fecha como texto ISO y
+     * costo REAL) a enteros. SQLite no permite cambiar el tipo de una columna,
+     * así que se copia a una tabla nueva.
+     */
+    private static void migrarTiposNativos(Connection conexion) throws SQLException {
+        String tipoFecha = null;
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(libros)")) {
+            while (rs.next()) {
+                if ("fecha_lanzamiento".equals(rs.getString("name"))) {
+                    tipoFecha = rs.getString("type");
+                }
+            }
+        }
+        if (!"TEXT".equalsIgnoreCase(tipoFecha)) {
+            return;
+        }
+
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("CREATE TABLE libros_nueva " + DEFINICION_LIBROS);
+            stmt.execute("""
+                INSERT INTO libros_nueva (id, nombre, autor, fecha_lanzamiento, editorial, costo)
+                SELECT id, nombre, autor,
+                       CAST(julianday(fecha_lanzamiento) - 2440587.5 AS INTEGER),
+                       editorial,
+                       CAST(ROUND(costo * 100) AS INTEGER)
+                FROM libros
+            """);
+            // Conservar el contador de AUTOINCREMENT para no reutilizar IDs borrados
+            stmt.execute("DELETE FROM sqlite_sequence WHERE name = 'libros_nueva'");
+            stmt.execute("INSERT INTO sqlite_sequence (name, seq) SELECT 'libros_nueva', seq FROM sqlite_sequence WHERE name = 'libros'");
+            // Los triggers se van con la tabla; el índice FTS y version_datos los recrean después
+            stmt.execute("DROP TABLE IF EXISTS libros_fts");
+            stmt.execute("DROP TABLE libros");
+            stmt.execute("ALTER TABLE libros_nueva RENAME TO libros");
+            LOG.info("Tabla 'libros' migrada a fechas y costos enteros.");
+        }
+    }
+
+    /**
+     * Índices para las consultas por rango de fecha, rango de costo y editorial,
+     * y para ordenar la tabla por cualquier columna sin ordenar todo el catálogo
+     */
+    private static void crearIndices(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_fecha ON libros (fecha_lanzamiento)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_costo ON libros (costo)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_editorial ON libros (editorial)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_nombre ON libros (nombre)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_libros_autor ON libros (autor)");
+        }
+    }
+}
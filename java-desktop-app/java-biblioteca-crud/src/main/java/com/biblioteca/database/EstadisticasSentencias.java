@@ -0,0 +1,61 @@
+package com.biblioteca.database;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de la caché de sentencias preparadas de un pool,
+ * sumados sobre todas sus conexiones.
+ */
+public class EstadisticasSentencias {
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder ocupadas = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+
+    void registrarAcierto() {
+        aciertos.increment();
+    }
+
+    void registrarFallo() {
+        fallos.increment();
+    }
+
+    void registrarOcupada() {
+        ocupadas.increment();
+    }
+
+    void registrarExpulsion() {
+        expulsiones.increment();
+    }
+
+    /** Sentencias servidas desde la caché */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /** Sentencias que hubo que compilar y se guardaron en la caché */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /** Sentencias compiladas aparte porque la guardada seguía abierta */
+    public long getOcupadas() {
+        return ocupadas.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public double getTasaAciertos() {
+        long total = getAciertos() + getFallos() + getOcupadas();
+        return total == 0 ? 0.0 : (double) getAciertos() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EstadisticasSentencias{aciertos=%d, fallos=%d, ocupadas=%d, tasa=%.1f%%, expulsiones=%d}",
+                getAciertos(), getFallos(), getOcupadas(), getTasaAciertos() * 100, getExpulsiones());
+    }
+}
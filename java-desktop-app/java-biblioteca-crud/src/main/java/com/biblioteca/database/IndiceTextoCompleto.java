@@ -0,0 +1,194 @@
+package com.biblioteca.database;
+
+import com.biblioteca.bitacora.Bitacora;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Índice FTS5 sobre nombre, autor y editorial de la tabla libros.
+ *
+ * La tabla virtual libros_fts usa libros como contenido externo y se mantiene
+ * sincronizada con triggers, así que los INSERT/UPDATE/DELETE del DAO no cambian.
+ *
+ * Por defecto se usa el tokenizador unicode61 (búsqueda por prefijo de palabra,
+ * sin distinguir acentos). Con -Dbiblioteca.busqueda.tokenizador=trigram se usa
+ * el tokenizador de trigramas, que encuentra cualquier subcadena de 3 o más caracteres.
+ */
+public class IndiceTextoCompleto {
+
+    private static final Bitacora LOG = Bitacora.para(IndiceTextoCompleto.class);
+
+    public static final String TOKENIZADOR_PALABRAS = "unicode61 remove_diacritics 2";
+    public static final String TOKENIZADOR_TRIGRAMAS = "trigram";
+
+    private static final String TOKENIZADOR = "trigram".equalsIgnoreCase(
+            System.getProperty("biblioteca.busqueda.tokenizador")) ? TOKENIZADOR_TRIGRAMAS : TOKENIZADOR_PALABRAS;
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    /** Pesos bm25 por columna: nombre, autor, editorial */
+    public static final String ORDEN_RELEVANCIA = "bm25(libros_fts, 10.0, 5.0, 1.0)";
+
+    private IndiceTextoCompleto() {}
+
+    /**
+     * Indica si el índice existe y usa el tokenizador configurado
+     */
+    public static boolean estaActualizado(Connection conexion) throws SQLException {
+        try (PreparedStatement pstmt = conexion.prepareStatement(
+                "SELECT sql FROM sqlite_master WHERE type = 'table' AND name = 'libros_fts'");
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() && rs.getString(1).contains("tokenize='" + TOKENIZADOR + "'");
+        }
+    }
+
+    /**
+     * Crea el índice y sus triggers si no existen (o si cambió el tokenizador)
+     * y lo llena con las filas que ya hay en libros.
+     * Debe ejecutarse dentro de una transacción (ver Esquema).
+     */
+    public static void crear(Connection conexion) throws SQLException {
+        if (estaActualizado(conexion)) {
+            return;
+        }
+
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("DROP TRIGGER IF EXISTS libros_fts_ai");
+            stmt.execute("DROP TRIGGER IF EXISTS libros_fts_ad");
+            stmt.execute("DROP TRIGGER IF EXISTS libros_fts_au");
+            stmt.execute("DROP TABLE IF EXISTS libros_fts");
+
+            stmt.execute("CREATE VIRTUAL TABLE libros_fts USING fts5("
+                    + "nombre, autor, editorial, content='libros', content_rowid='id', "
+                    + "tokenize='" + TOKENIZADOR + "')");
+
+            stmt.execute("""
+                CREATE TRIGGER libros_fts_ai AFTER INSERT ON libros BEGIN
+                    INSERT INTO libros_fts (rowid, nombre, autor, editorial)
+                    VALUES (new.id, new.nombre, new.autor, new.editorial);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER libros_fts_ad AFTER DELETE ON libros BEGIN
+                    INSERT INTO libros_fts (libros_fts, rowid, nombre, autor, editorial)
+                    VALUES ('delete', old.id, old.nombre, old.autor, old.editorial);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER libros_fts_au AFTER UPDATE OF nombre, autor, editorial ON libros BEGIN
+                    INSERT INTO libros_fts (libros_fts, rowid, nombre, autor, editorial)
+                    VALUES ('delete', old.id, old.nombre, old.autor, old.editorial);
+                    INSERT INTO libros_fts (rowid, nombre, autor, editorial)
+                    VALUES (new.id, new.nombre, new.autor, new.editorial);
+                END
+            """);
+
+            // Indexar los libros que ya existían
+            stmt.execute("INSERT INTO libros_fts (libros_fts) VALUES ('rebuild')");
+            LOG.info("Índice de texto completo creado (tokenizador {}).", TOKENIZADOR);
+        }
+    }
+
+    public static boolean usaTrigramas() {
+        return TOKENIZADOR == TOKENIZADOR_TRIGRAMAS;
+    }
+
+    /**
+     * Convierte lo que escribió el usuario en una expresión MATCH de FTS5.
+     *
+     * Con palabras, cada término se busca como prefijo y todos deben aparecer
+     * ("gar mar" encuentra "Gabriel García Márquez"). Con trigramas cada término
+     * se busca como subcadena.
+     *
+     * @return la expresión, o null si el término no puede resolverse con el índice
+     *         (por ejemplo, menos de 3 caracteres con trigramas)
+     */
+    public static String construirConsulta(String termino) {
+        List<String> tokens = tokenizar(termino);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder consulta = new StringBuilder();
+        for (String token : tokens) {
+            if (usaTrigramas() && token.length() < 3) {
+                return null;
+            }
+            if (consulta.length() > 0) {
+                consulta.append(' ');
+            }
+            // Entre comillas para que FTS5 no interprete AND, OR, NOT, NEAR...
+            consulta.append('"').append(token).append('"');
+            if (!usaTrigramas()) {
+                consulta.append('*');
+            }
+        }
+        return consulta.toString();
+    }
+
+    /**
+     * Evalúa en memoria la misma condición que construirConsulta expresa en SQL:
+     * indica si los campos de un libro coinciden con el término.
+     * Solo es válido para términos con los que construirConsulta no devuelve null.
+     */
+    public static boolean coincide(String termino, String... campos) {
+        for (String token : tokenizar(termino)) {
+            boolean encontrado = false;
+            for (String campo : campos) {
+                if (campo != null && contieneToken(campo, token)) {
+                    encontrado = true;
+                    break;
+                }
+            }
+            if (!encontrado) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contieneToken(String campo, String token) {
+        if (usaTrigramas()) {
+            return campo.toLowerCase(Locale.ROOT).contains(token);
+        }
+        String tokenSinAcentos = quitarAcentos(token);
+        for (String palabra : tokenizar(campo)) {
+            if (quitarAcentos(palabra).startsWith(tokenSinAcentos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String quitarAcentos(String texto) {
+        // Caso común: texto ASCII, no hay nada que normalizar
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 128;
+        }
+        if (ascii) {
+            return texto;
+        }
+        return MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(texto.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,107 @@
+package com.biblioteca.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PRAGMAs de SQLite que se aplican a cada conexión nueva del pool.
+ *
+ * Hay dos perfiles predefinidos:
+ * - DURABLE: WAL con synchronous=FULL, no pierde transacciones confirmadas ante un corte de luz.
+ * - RENDIMIENTO: WAL con synchronous=NORMAL, caché grande y mmap; puede perder las últimas
+ *   transacciones ante un corte de luz, pero la base nunca queda corrupta.
+ *
+ * Por defecto se usa DURABLE; RENDIMIENTO hay que pedirlo explícitamente.
+ * Se elige con -Dbiblioteca.db.perfil=durable|rendimiento y cada valor puede
+ * sobrescribirse con su propiedad (biblioteca.db.synchronous, biblioteca.db.cacheSize, ...).
+ */
+public class PerfilConexion {
+
+    public static final PerfilConexion DURABLE =
+            new PerfilConexion("durable", "WAL", "FULL", -2_000, 0, "DEFAULT", 5_000);
+
+    public static final PerfilConexion RENDIMIENTO =
+            new PerfilConexion("rendimiento", "WAL", "NORMAL", -64_000, 256L * 1024 * 1024, "MEMORY", 5_000);
+
+    private final String nombre;
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+    private final int busyTimeoutMs;
+
+    /**
+     * @param cacheSize páginas si es positivo, KiB si es negativo (igual que PRAGMA cache_size)
+     * @param mmapSize  bytes a mapear en memoria; 0 lo desactiva
+     */
+    public PerfilConexion(String nombre, String journalMode, String synchronous, int cacheSize,
+                          long mmapSize, String tempStore, int busyTimeoutMs) {
+        this.nombre = nombre;
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMs = busyTimeoutMs;
+    }
+
+    /**
+     * Perfil elegido por propiedades del sistema (por defecto DURABLE)
+     */
+    public static PerfilConexion desdeSistema() {
+        String elegido = System.getProperty("biblioteca.db.perfil", DURABLE.nombre);
+        PerfilConexion base = RENDIMIENTO.nombre.equalsIgnoreCase(elegido) ? RENDIMIENTO : DURABLE;
+
+        return new PerfilConexion(
+            base.nombre,
+            System.getProperty("biblioteca.db.journalMode", base.journalMode),
+            System.getProperty("biblioteca.db.synchronous", base.synchronous),
+            Integer.getInteger("biblioteca.db.cacheSize", base.cacheSize),
+            Long.getLong("biblioteca.db.mmapSize", base.mmapSize),
+            System.getProperty("biblioteca.db.tempStore", base.tempStore),
+            Integer.getInteger("biblioteca.db.busyTimeoutMs", base.busyTimeoutMs)
+        );
+    }
+
+    /**
+     * Aplica los PRAGMAs a una conexión recién abierta
+     */
+    public void aplicar(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            // busy_timeout primero: cambiar journal_mode puede tener que esperar un bloqueo
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMs);
+            stmt.execute("PRAGMA journal_mode = " + validar(journalMode));
+            stmt.execute("PRAGMA synchronous = " + validar(synchronous));
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = " + validar(tempStore));
+        }
+    }
+
+    // Los PRAGMA no admiten parámetros, así que solo se aceptan palabras simples
+    private static String validar(String valor) {
+        if (!valor.matches("[A-Za-z0-9_]+")) {
+            throw new IllegalArgumentException("Valor de PRAGMA no válido: " + valor);
+        }
+        return valor;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String toString() {
+        return "PerfilConexion{" +
+                "nombre='" + nombre + '\'' +
+                ", journalMode='" + journalMode + '\'' +
+                ", synchronous='" + synchronous + '\'' +
+                ", cacheSize=" + cacheSize +
+                ", mmapSize=" + mmapSize +
+                ", tempStore='" + tempStore + '\'' +
+                ", busyTimeoutMs=" + busyTimeoutMs +
+                '}';
+    }
+}
@@ -0,0 +1,322 @@
+package com.biblioteca.database;
+
+import com.biblioteca.bitacora.Bitacora;
+import com.biblioteca.metricas.MedidorOperacion;
+import com.biblioteca.metricas.Metricas;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pool acotado de conexiones JDBC de larga duración.
+ *
+ * Cada conexión nueva recibe los PRAGMAs del PerfilConexion del pool.
+ * Las conexiones se entregan envueltas en un proxy: llamar a close() las devuelve
+ * al pool en lugar de cerrarlas. Un hilo de mantenimiento cierra las conexiones
+ * inactivas y avisa de las que llevan prestadas demasiado tiempo (posibles fugas).
+ *
+ * Cada conexión física conserva sus sentencias preparadas (CacheSentencias), de
+ * modo que prepareStatement(sql) con un SQL ya usado no vuelve a compilarlo.
+ *
+ * El tiempo de espera para obtener una conexión se mide como la operación
+ * "Pool.<nombre>.obtener" (los tiempos de espera agotados cuentan como errores).
+ */
+public class PoolConexiones {
+
+    private static final Bitacora LOG = Bitacora.para(PoolConexiones.class);
+
+    /**
+     * Con -Dbiblioteca.pool.rastrearFugas=true cada préstamo guarda la pila de quien
+     * pidió la conexión, para mostrarla si se reporta una fuga. Llenar la pila cuesta
+     * varios microsegundos por préstamo, así que por defecto solo se guarda el hilo.
+     */
+    private static final boolean RASTREAR_FUGAS = Boolean.getBoolean("biblioteca.pool.rastrearFugas");
+
+    private final String nombre;
+    private final String url;
+    private final ConfiguracionPool config;
+    private final PerfilConexion perfil;
+
+    private final Semaphore permisos;
+    private final Deque<ConexionFisica> libres = new ArrayDeque<>();
+    private final Set<Prestamo> prestadas = ConcurrentHashMap.newKeySet();
+    private final EstadisticasSentencias estadisticasSentencias = new EstadisticasSentencias();
+    private final MedidorOperacion medidorObtener;
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado = false;
+
+    public PoolConexiones(String nombre, String url, ConfiguracionPool config, PerfilConexion perfil) {
+        this.nombre = nombre;
+        this.url = url;
+        this.config = config;
+        this.perfil = perfil;
+        this.permisos = new Semaphore(config.getTamanoMaximo(), true);
+        this.medidorObtener = Metricas.operacion("Pool." + nombre + ".obtener");
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "pool-" + nombre + "-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long revision = config.getUmbralFugaMs() > 0
+                ? Math.min(config.getTiempoInactivoMaxMs(), config.getUmbralFugaMs()) : config.getTiempoInactivoMaxMs();
+        long periodo = Math.max(1_000, revision / 2);
+        mantenimiento.scheduleWithFixedDelay(this::mantener, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtiene una conexión del pool, esperando como máximo el tiempo configurado
+     */
+    public Connection obtener() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool '" + nombre + "' está cerrado");
+        }
+
+        long inicio = medidorObtener.iniciar();
+        try {
+            if (!permisos.tryAcquire(config.getTiempoEsperaMs(), TimeUnit.MILLISECONDS)) {
+                medidorObtener.fallar(inicio);
+                throw new SQLException("Tiempo de espera agotado al obtener conexión del pool '" + nombre + "'");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            medidorObtener.fallar(inicio);
+            throw new SQLException("Interrumpido esperando conexión del pool '" + nombre + "'", e);
+        }
+
+        try {
+            ConexionFisica fisica = tomarLibreValida();
+            if (fisica == null) {
+                fisica = new ConexionFisica(abrirConexion(), config.getSentenciasEnCache(), estadisticasSentencias);
+            }
+            Prestamo prestamo = new Prestamo(fisica);
+            prestadas.add(prestamo);
+            medidorObtener.terminar(inicio, 0);
+            return prestamo.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            medidorObtener.fallar(inicio);
+            throw e;
+        }
+    }
+
+    private Connection abrirConexion() throws SQLException {
+        Connection conexion = DriverManager.getConnection(url);
+        try {
+            perfil.aplicar(conexion);
+        } catch (SQLException | RuntimeException e) {
+            conexion.close();
+            throw e;
+        }
+        return conexion;
+    }
+
+    /**
+     * Saca una conexión libre, validándola si lleva un rato sin usarse
+     */
+    private ConexionFisica tomarLibreValida() {
+        while (true) {
+            ConexionFisica fisica;
+            synchronized (libres) {
+                fisica = libres.pollFirst();
+            }
+            if (fisica == null) {
+                return null;
+            }
+
+            long inactiva = System.currentTimeMillis() - fisica.ultimoUso;
+            if (inactiva < config.getIntervaloValidacionMs() || fisica.esValida()) {
+                return fisica;
+            }
+            fisica.cerrar();
+        }
+    }
+
+    private void devolver(Prestamo prestamo) {
+        prestadas.remove(prestamo);
+        ConexionFisica fisica = prestamo.fisica;
+        fisica.sentencias.liberarTodas();
+
+        try {
+            if (!fisica.conexion.getAutoCommit()) {
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOG.advertencia("Conexión descartada al devolverla al pool: {}", e.getMessage());
+            fisica.cerrar();
+            permisos.release();
+            return;
+        }
+
+        if (cerrado) {
+            fisica.cerrar();
+        } else {
+            fisica.ultimoUso = System.currentTimeMillis();
+            synchronized (libres) {
+                // LIFO: la conexión usada más recientemente tiene la caché de páginas más caliente
+                libres.addFirst(fisica);
+            }
+        }
+        permisos.release();
+    }
+
+    /**
+     * Cierra conexiones inactivas y reporta posibles fugas
+     */
+    private void mantener() {
+        long ahora = System.currentTimeMillis();
+
+        synchronized (libres) {
+            Iterator<ConexionFisica> it = libres.descendingIterator();
+            while (it.hasNext()) {
+                ConexionFisica fisica = it.next();
+                if (ahora - fisica.ultimoUso > config.getTiempoInactivoMaxMs()) {
+                    it.remove();
+                    fisica.cerrar();
+                }
+            }
+        }
+
+        if (config.getUmbralFugaMs() <= 0) {
+            return;
+        }
+        for (Prestamo prestamo : prestadas) {
+            if (!prestamo.fugaReportada && ahora - prestamo.inicio > config.getUmbralFugaMs()) {
+                prestamo.fugaReportada = true;
+                String detalle = "prestada hace " + (ahora - prestamo.inicio) + " ms al hilo '" + prestamo.hilo + "'"
+                        + (prestamo.origen == null ? " (-Dbiblioteca.pool.rastrearFugas=true muestra dónde)" : "");
+                LOG.advertencia("Posible fuga de conexión en el pool '{}': {}", nombre, detalle, prestamo.origen);
+            }
+        }
+    }
+
+    /**
+     * Cierra todas las conexiones libres; las prestadas se cierran al devolverse
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        synchronized (libres) {
+            for (ConexionFisica fisica : libres) {
+                fisica.cerrar();
+            }
+            libres.clear();
+        }
+    }
+
+    public int getConexionesActivas() {
+        return prestadas.size();
+    }
+
+    public int getConexionesLibres() {
+        synchronized (libres) {
+            return libres.size();
+        }
+    }
+
+    public EstadisticasSentencias getEstadisticasSentencias() {
+        return estadisticasSentencias;
+    }
+
+    /**
+     * Conexión JDBC real mantenida por el pool
+     */
+    private static class ConexionFisica {
+        final Connection conexion;
+        final CacheSentencias sentencias;
+        volatile long ultimoUso = System.currentTimeMillis();
+
+        ConexionFisica(Connection conexion, int sentenciasEnCache, EstadisticasSentencias estadisticas) {
+            this.conexion = conexion;
+            this.sentencias = new CacheSentencias(conexion, sentenciasEnCache, estadisticas);
+        }
+
+        boolean esValida() {
+            try {
+                return conexion.isValid(1);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void cerrar() {
+            sentencias.cerrarTodas();
+            try {
+                conexion.close();
+            } catch (SQLException e) {
+                LOG.error("Error al cerrar conexión del pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Préstamo de una conexión: el proxy que recibe el llamador
+     */
+    private class Prestamo implements InvocationHandler {
+        final ConexionFisica fisica;
+        final long inicio = System.currentTimeMillis();
+        final String hilo = Thread.currentThread().getName();
+        // Solo con RASTREAR_FUGAS: crear el Throwable recorre la pila en cada préstamo
+        final Throwable origen = RASTREAR_FUGAS && config.getUmbralFugaMs() > 0
+                ? new Throwable("Conexión obtenida aquí") : null;
+        final Connection proxy;
+        // Dos hilos pueden cerrar el mismo proxy: solo el primero devuelve la conexión
+        final AtomicBoolean devuelta = new AtomicBoolean(false);
+        volatile boolean fugaReportada = false;
+
+        Prestamo(ConexionFisica fisica) {
+            this.fisica = fisica;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (devuelta.compareAndSet(false, true)) {
+                        devolver(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return devuelta.get() || fisica.conexion.isClosed();
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "ConexionPool[" + nombre + "]";
+                default:
+                    break;
+            }
+
+            if (devuelta.get()) {
+                throw new SQLException("La conexión ya fue devuelta al pool");
+            }
+            if ("prepareStatement".equals(metodo.getName()) && args.length == 1) {
+                return fisica.sentencias.preparar((String) args[0], proxy);
+            }
+            try {
+                return metodo.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
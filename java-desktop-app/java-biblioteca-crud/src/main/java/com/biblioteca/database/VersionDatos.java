@@ -0,0 +1,59 @@
+package com.biblioteca.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Contador de cambios de la tabla libros.
+ *
+ * Triggers sobre libros incrementan version_datos.valor en cada INSERT, UPDATE
+ * o DELETE, venga de esta aplicación o de cualquier otro proceso. Quien conoce
+ * la versión que tenía puede saber si alguien más modificó los datos.
+ */
+public class VersionDatos {
+
+    private VersionDatos() {}
+
+    /**
+     * Crea la tabla del contador y sus triggers si no existen
+     */
+    public static void crear(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS version_datos (
+                    id INTEGER PRIMARY KEY CHECK (id = 1),
+                    valor INTEGER NOT NULL
+                )
+            """);
+            stmt.execute("INSERT OR IGNORE INTO version_datos (id, valor) VALUES (1, 0)");
+
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS version_datos_ai AFTER INSERT ON libros BEGIN
+                    UPDATE version_datos SET valor = valor + 1 WHERE id = 1;
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS version_datos_au AFTER UPDATE ON libros BEGIN
+                    UPDATE version_datos SET valor = valor + 1 WHERE id = 1;
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS version_datos_ad AFTER DELETE ON libros BEGIN
+                    UPDATE version_datos SET valor = valor + 1 WHERE id = 1;
+                END
+            """);
+        }
+    }
+
+    /**
+     * Lee la versión actual de los datos
+     */
+    public static long leer(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT valor FROM version_datos WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.biblioteca.instantanea;
+
+import com.biblioteca.bitacora.Bitacora;
+import com.biblioteca.dao.RepositorioLibros;
+import com.biblioteca.dao.MapeadorLibro;
+import com.biblioteca.modelo.Libro;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Escribe la instantánea del catálogo (ver InstantaneaCatalogo).
+ *
+ * Las columnas se juntan en arreglos primitivos mientras se recorre la tabla
+ * (unos 30 bytes por libro más el nombre) y se escriben al final, porque cada
+ * columna va completa antes de la siguiente. Se escribe en un archivo temporal
+ * que reemplaza, con un movimiento atómico y solo si todo salió bien, a la
+ * generación más antigua que este proceso no tenga mapeada.
+ */
+public final class EscritorInstantanea {
+
+    private static final Bitacora LOG = Bitacora.para(EscritorInstantanea.class);
+
+    private int filas = 0;
+    private int[] ids = new int[1024];
+    private int[] fechas = new int[1024];
+    private long[] costos = new long[1024];
+    private int[] autor = new int[1024];
+    private int[] editorial = new int[1024];
+    private int[] finNombre = new int[1024];
+    private final ByteArrayOutputStream nombres = new ByteArrayOutputStream();
+
+    private final Map<String, Integer> posicionAutor = new HashMap<>();
+    private final List<String> autores = new ArrayList<>();
+    private final Map<String, Integer> posicionEditorial = new HashMap<>();
+    private final List<String> editoriales = new ArrayList<>();
+
+    private EscritorInstantanea() {}
+
+    /**
+     * ESCRIBIR - Guarda todo el catálogo en una generación de la instantánea.
+     * Sincronizado: dos escrituras a la vez elegirían el mismo archivo
+     * @return true si la instantánea quedó escrita
+     */
+    public static synchronized boolean escribir(RepositorioLibros dao, Path archivo) {
+        Path destino = elegirDestino(archivo);
+        if (destino == null) {
+            LOG.advertencia("No se escribe la instantánea del catálogo: todas sus generaciones están mapeadas");
+            return false;
+        }
+
+        // La versión se lee antes que los datos: si algo cambia en medio, la instantánea
+        // queda con una versión vieja y se descarta al validarla
+        long version = dao.obtenerVersionDatos();
+        if (version < 0) {
+            return false;
+        }
+
+        EscritorInstantanea escritor = new EscritorInstantanea();
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".parcial");
+        try {
+            try (Stream<Libro> libros = dao.recorrerTodos()) {
+                libros.forEach(escritor::agregar);
+            }
+            escritor.guardar(temporal, version);
+            mover(temporal, destino);
+            LOG.info("Instantánea del catálogo escrita: {} libros (versión {}).", escritor.filas, version);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.error("No se pudo escribir la instantánea del catálogo", e);
+            try {
+                Files.deleteIfExists(temporal);
+            } catch (IOException ignorada) {
+                // Se sobrescribe en el próximo intento
+            }
+            return false;
+        }
+    }
+
+    // La generación que no es la más reciente, para conservar la otra si esta escritura
+    // no termina; si está mapeada, la más reciente. Null si las dos están mapeadas
+    private static Path elegirDestino(Path archivo) {
+        Path reciente = InstantaneaCatalogo.masReciente(archivo);
+        Path candidata = null;
+        for (int i = 1; i <= InstantaneaCatalogo.GENERACIONES; i++) {
+            Path generacion = InstantaneaCatalogo.generacion(archivo, i);
+            if (InstantaneaCatalogo.estaMapeado(generacion)) {
+                continue;
+            }
+            if (!generacion.equals(reciente)) {
+                return generacion;
+            }
+            candidata = generacion;
+        }
+        return candidata;
+    }
+
+    // Atómico si el sistema de archivos lo permite: un lector ve el archivo anterior o el
+    // nuevo completo. Si no, un archivo a medias no pasa la validación al abrirlo
+    private static void mover(Path temporal, Path destino) throws IOException {
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void agregar(Libro libro) {
+        if (filas == ids.length) {
+            int capacidad = filas * 2;
+            ids = Arrays.copyOf(ids, capacidad);
+            fechas = Arrays.copyOf(fechas, capacidad);
+            costos = Arrays.copyOf(costos, capacidad);
+            autor = Arrays.copyOf(autor, capacidad);
+            editorial = Arrays.copyOf(editorial, capacidad);
+            finNombre = Arrays.copyOf(finNombre, capacidad);
+        }
+        ids[filas] = libro.getId();
+        fechas[filas] = Math.toIntExact(libro.getFechaLanzamiento().toEpochDay());
+        costos[filas] = MapeadorLibro.aCentavos(libro.getCosto());
+        autor[filas] = posicion(libro.getAutor(), posicionAutor, autores);
+        editorial[filas] = posicion(libro.getEditorial(), posicionEditorial, editoriales);
+        nombres.writeBytes(libro.getNombre().getBytes(StandardCharsets.UTF_8));
+        finNombre[filas] = nombres.size();
+        filas++;
+    }
+
+    private static int posicion(String texto, Map<String, Integer> posiciones, List<String> textos) {
+        Integer posicion = posiciones.get(texto);
+        if (posicion == null) {
+            posicion = textos.size();
+            posiciones.put(texto, posicion);
+            textos.add(texto);
+        }
+        return posicion;
+    }
+
+    private void guardar(Path destino, long version) throws IOException {
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(destino), 64 * 1024))) {
+            salida.writeInt(InstantaneaCatalogo.MAGICO);
+            salida.writeInt(InstantaneaCatalogo.FORMATO);
+            salida.writeLong(version);
+            salida.writeInt(filas);
+            salida.writeInt(autores.size());
+            salida.writeInt(editoriales.size());
+            salida.writeInt(nombres.size());
+
+            escribirColumna(salida, ids);
+            escribirColumna(salida, fechas);
+            for (int i = 0; i < filas; i++) {
+                salida.writeLong(costos[i]);
+            }
+            escribirColumna(salida, autor);
+            escribirColumna(salida, editorial);
+            escribirColumna(salida, finNombre);
+            nombres.writeTo(salida);
+
+            escribirDiccionario(salida, autores);
+            escribirDiccionario(salida, editoriales);
+        }
+    }
+
+    private void escribirColumna(DataOutputStream salida, int[] columna) throws IOException {
+        for (int i = 0; i < filas; i++) {
+            salida.writeInt(columna[i]);
+        }
+    }
+
+    private static void escribirDiccionario(DataOutputStream salida, List<String> textos) throws IOException {
+        List<byte[]> bytes = new ArrayList<>(textos.size());
+        int fin = 0;
+        for (String texto : textos) {
+            byte[] codificado = texto.getBytes(StandardCharsets.UTF_8);
+            bytes.add(codificado);
+            fin += codificado.length;
+            salida.writeInt(fin);
+        }
+        for (byte[] codificado : bytes) {
+            salida.write(codificado);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.biblioteca.instantanea;
+
+import com.biblioteca.bitacora.Bitacora;
+import com.biblioteca.dao.MapeadorLibro;
+import com.biblioteca.modelo.Libro;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copia del catálogo en un archivo binario por columnas, junto a la base de datos,
+ * para mostrar la tabla al iniciar sin esperar a SQLite.
+ *
+ * El archivo se mapea en memoria: abrirlo solo lee la cabecera, y cada libro se
+ * arma al pedirlo. Los libros están en el orden por defecto del catálogo (ID
+ * descendente). La cabecera guarda la versión de los datos (VersionDatos) con la
+ * que se escribió, para saber si sigue vigente.
+ *
+ * Un mapeo no se puede liberar a voluntad y en Windows impide reemplazar el archivo,
+ * por eso hay dos generaciones (biblioteca.db.catalogo.1 y .2): se abre la escrita más
+ * recientemente y EscritorInstantanea escribe en una que este proceso no tenga mapeada.
+ *
+ * Formato (enteros big-endian):
+ * <pre>
+ * cabecera    MAGICO, FORMATO, versionDatos (long), filas, autores, editoriales, bytesNombres
+ * ids         int[filas]
+ * fechas      int[filas]    días desde 1970-01-01
+ * costos      long[filas]   centavos
+ * autor       int[filas]    posición en el diccionario de autores
+ * editorial   int[filas]    posición en el diccionario de editoriales
+ * finNombre   int[filas]    fin de cada nombre en el bloque de nombres
+ * nombres     byte[bytesNombres]  UTF-8
+ * diccionario de autores y de editoriales: int[n] con el fin de cada texto, luego los bytes
+ * </pre>
+ */
+public final class InstantaneaCatalogo {
+
+    private static final Bitacora LOG = Bitacora.para(InstantaneaCatalogo.class);
+
+    static final int MAGICO = 0x42494243;   // "BIBC"
+    static final int FORMATO = 1;
+    static final int TAMANO_CABECERA = 32;
+    static final int GENERACIONES = 2;
+
+    // Archivos mapeados por este proceso: siguen ocupados hasta que el GC libere el mapeo
+    private static final Set<Path> MAPEADOS = ConcurrentHashMap.newKeySet();
+
+    private final ByteBuffer datos;
+    private final long versionDatos;
+    private final int filas;
+    // Se decodifican al pedirlos: abrir no depende de cuántos autores haya
+    private final String[] autores;
+    private final String[] editoriales;
+    private final int inicioDiccionarioAutores;
+    private final int inicioDiccionarioEditoriales;
+
+    private final int inicioIds;
+    private final int inicioFechas;
+    private final int inicioCostos;
+    private final int inicioAutor;
+    private final int inicioEditorial;
+    private final int inicioFinNombre;
+    private final int inicioNombres;
+
+    private InstantaneaCatalogo(ByteBuffer datos) throws IOException {
+        this.datos = datos;
+        if (datos.limit() < TAMANO_CABECERA || datos.getInt(0) != MAGICO || datos.getInt(4) != FORMATO) {
+            throw new IOException("no es una instantánea del catálogo o es de otro formato");
+        }
+        versionDatos = datos.getLong(8);
+        filas = datos.getInt(16);
+        int numAutores = datos.getInt(20);
+        int numEditoriales = datos.getInt(24);
+        int bytesNombres = datos.getInt(28);
+
+        inicioIds = TAMANO_CABECERA;
+        inicioFechas = inicioIds + filas * 4;
+        inicioCostos = inicioFechas + filas * 4;
+        inicioAutor = inicioCostos + filas * 8;
+        inicioEditorial = inicioAutor + filas * 4;
+        inicioFinNombre = inicioEditorial + filas * 4;
+        inicioNombres = inicioFinNombre + filas * 4;
+
+        long esperado = (long) TAMANO_CABECERA + 28L * filas + bytesNombres;
+        if (filas < 0 || numAutores < 0 || numEditoriales < 0 || bytesNombres < 0 || esperado > datos.limit()) {
+            throw new IOException("archivo incompleto");
+        }
+        inicioDiccionarioAutores = (int) esperado;
+        esperado = finDiccionario(inicioDiccionarioAutores, numAutores);
+        inicioDiccionarioEditoriales = (int) esperado;
+        esperado = finDiccionario(inicioDiccionarioEditoriales, numEditoriales);
+        if (esperado != datos.limit()) {
+            throw new IOException("tamaño inesperado (" + datos.limit() + " bytes, se esperaban " + esperado + ")");
+        }
+        autores = new String[numAutores];
+        editoriales = new String[numEditoriales];
+    }
+
+    /**
+     * Instantánea de una base de datos (null si no hay archivo de base). Es el nombre
+     * común de sus generaciones, no un archivo.
+     */
+    public static Path rutaPara(Path baseDatos) {
+        return baseDatos == null ? null : baseDatos.resolveSibling(baseDatos.getFileName() + ".catalogo");
+    }
+
+    /** Archivo de una generación (1..GENERACIONES) */
+    static Path generacion(Path archivo, int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+
+    static boolean estaMapeado(Path generacion) {
+        return MAPEADOS.contains(generacion.toAbsolutePath());
+    }
+
+    /**
+     * ABRIR - Mapea en memoria la generación escrita más recientemente
+     * @return la instantánea, o null si no hay ninguna que se pueda leer
+     */
+    public static InstantaneaCatalogo abrir(Path archivo) {
+        Path elegida = archivo == null ? null : masReciente(archivo);
+        if (elegida == null) {
+            return null;
+        }
+        // El mapeo sigue siendo válido después de cerrar el canal
+        try (FileChannel canal = FileChannel.open(elegida, StandardOpenOption.READ)) {
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            MAPEADOS.add(elegida.toAbsolutePath());
+            return new InstantaneaCatalogo(datos);
+        } catch (IOException | RuntimeException e) {
+            LOG.advertencia("Se ignora la instantánea del catálogo {}: {}", elegida, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Versión de los datos de la generación más reciente, sin mapearla
+     * @return la versión, o -1 si no hay ninguna
+     */
+    public static long versionGuardada(Path archivo) {
+        Path generacion = archivo == null ? null : masReciente(archivo);
+        return generacion == null ? -1 : leerVersion(generacion);
+    }
+
+    // Generación escrita más recientemente entre las que tienen una cabecera válida, o null.
+    // Se decide por la fecha del archivo y no por la versión, que vuelve a empezar si se
+    // reemplaza la base
+    static Path masReciente(Path archivo) {
+        Path elegida = null;
+        long fechaElegida = Long.MIN_VALUE;
+        for (int i = 1; i <= GENERACIONES; i++) {
+            Path generacion = generacion(archivo, i);
+            if (leerVersion(generacion) < 0) {
+                continue;
+            }
+            try {
+                long fecha = Files.getLastModifiedTime(generacion).toMillis();
+                if (fecha > fechaElegida) {
+                    elegida = generacion;
+                    fechaElegida = fecha;
+                }
+            } catch (IOException e) {
+                // Se ignora esa generación
+            }
+        }
+        return elegida;
+    }
+
+    // Versión de la cabecera de un archivo, o -1 si no existe o no es una instantánea.
+    // El resto del archivo se valida al abrirlo
+    static long leerVersion(Path generacion) {
+        if (!Files.isRegularFile(generacion)) {
+            return -1;
+        }
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA);
+        try (FileChannel canal = FileChannel.open(generacion, StandardOpenOption.READ)) {
+            while (cabecera.hasRemaining() && canal.read(cabecera) >= 0) {
+                // Leer hasta completar la cabecera o llegar al final
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        if (cabecera.hasRemaining() || cabecera.getInt(0) != MAGICO || cabecera.getInt(4) != FORMATO) {
+            return -1;
+        }
+        return cabecera.getLong(8);
+    }
+
+    /** Versión de los datos cuando se escribió */
+    public long getVersionDatos() {
+        return versionDatos;
+    }
+
+    public int getTamano() {
+        return filas;
+    }
+
+    /**
+     * Libro en la posición indicada (0 es el de ID más alto)
+     */
+    public Libro libro(int posicion) {
+        if (posicion < 0 || posicion >= filas) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + ", tamaño " + filas);
+        }
+        int finNombre = datos.getInt(inicioFinNombre + posicion * 4);
+        int inicioNombre = posicion == 0 ? 0 : datos.getInt(inicioFinNombre + (posicion - 1) * 4);
+
+        return new Libro(
+            datos.getInt(inicioIds + posicion * 4),
+            texto(inicioNombres + inicioNombre, finNombre - inicioNombre),
+            textoDiccionario(autores, inicioDiccionarioAutores, datos.getInt(inicioAutor + posicion * 4)),
+            MapeadorLibro.fecha(datos.getInt(inicioFechas + posicion * 4)),
+            textoDiccionario(editoriales, inicioDiccionarioEditoriales, datos.getInt(inicioEditorial + posicion * 4)),
+            MapeadorLibro.desdeCentavos(datos.getLong(inicioCostos + posicion * 8))
+        );
+    }
+
+    /**
+     * Libros de las posiciones [desde, hasta), en una lista modificable
+     */
+    public List<Libro> libros(int desde, int hasta) {
+        List<Libro> libros = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            libros.add(libro(i));
+        }
+        return libros;
+    }
+
+    // Posición siguiente al diccionario que empieza en inicio (o más allá del archivo si no cabe)
+    private long finDiccionario(int inicio, int cantidad) {
+        long inicioTextos = (long) inicio + cantidad * 4L;
+        if (cantidad == 0 || inicioTextos > datos.limit()) {
+            return inicioTextos;
+        }
+        return inicioTextos + datos.getInt((int) inicioTextos - 4);
+    }
+
+    // Cada texto se decodifica una vez: todos los libros del mismo autor o editorial
+    // comparten la instancia. Sin sincronizar: en el peor caso se decodifica dos veces.
+    private String textoDiccionario(String[] textos, int inicio, int indice) {
+        String texto = textos[indice];
+        if (texto == null) {
+            int inicioTextos = inicio + textos.length * 4;
+            int desde = indice == 0 ? 0 : datos.getInt(inicio + (indice - 1) * 4);
+            texto = texto(inicioTextos + desde, datos.getInt(inicio + indice * 4) - desde);
+            textos[indice] = texto;
+        }
+        return texto;
+    }
+
+    private String texto(int posicion, int largo) {
+        byte[] bytes = new byte[largo];
+        datos.get(posicion, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
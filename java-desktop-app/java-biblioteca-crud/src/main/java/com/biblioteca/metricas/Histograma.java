@@ -0,0 +1,135 @@
+package com.biblioteca.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores positivos (por ejemplo latencias en nanosegundos) con
+ * precisión relativa fija, al estilo de HdrHistogram.
+ *
+ * Los valores menores que 128 se cuentan exactos; los demás caen en cubetas de
+ * 64 subdivisiones por cada potencia de dos, así que cualquier percentil tiene
+ * un error menor al 1,6 %. Registrar es un incremento atómico sin bloqueos y la
+ * memoria es fija (unos 30 KB) sin importar cuántos valores se registren.
+ */
+public class Histograma {
+
+    private static final int LINEALES = 128;
+    private static final int SUBCUBETAS = 64;
+    private static final int BITS_SUBCUBETA = 6;
+    static final int CUBETAS = (63 - BITS_SUBCUBETA + 2) * SUBCUBETAS;
+
+    private final AtomicLongArray conteos = new AtomicLongArray(CUBETAS);
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        conteos.incrementAndGet(indice(valor));
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * Copia de los conteos actuales; restando dos copias se obtiene lo registrado entre ambas
+     */
+    public Instantanea instantanea() {
+        long[] copia = new long[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = conteos.get(i);
+        }
+        return new Instantanea(copia, suma.sum(), maximo.get());
+    }
+
+    static int indice(long valor) {
+        if (valor < LINEALES) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        int subcubeta = (int) (valor >>> desplazamiento);
+        return desplazamiento * SUBCUBETAS + subcubeta;
+    }
+
+    /** Valor representativo (punto medio) de una cubeta */
+    static long valorDe(int indice) {
+        if (indice < LINEALES) {
+            return indice;
+        }
+        int exponente = indice / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        long inferior = (long) (indice % SUBCUBETAS + SUBCUBETAS) << desplazamiento;
+        return inferior + ((1L << desplazamiento) >> 1);
+    }
+
+    /**
+     * Conteos de un histograma en un momento dado
+     */
+    public static class Instantanea {
+        private final long[] conteos;
+        private final long total;
+        private final long suma;
+        private final long maximo;
+
+        Instantanea(long[] conteos, long suma, long maximo) {
+            this.conteos = conteos;
+            long n = 0;
+            for (long conteo : conteos) {
+                n += conteo;
+            }
+            this.total = n;
+            this.suma = suma;
+            this.maximo = maximo;
+        }
+
+        /**
+         * Lo registrado desde la instantánea anterior. El máximo es el del
+         * intervalo si se puede calcular, o el acumulado si no.
+         */
+        public Instantanea menos(Instantanea anterior) {
+            long[] diferencia = new long[CUBETAS];
+            int ultimaCubeta = -1;
+            for (int i = 0; i < CUBETAS; i++) {
+                diferencia[i] = conteos[i] - anterior.conteos[i];
+                if (diferencia[i] > 0) {
+                    ultimaCubeta = i;
+                }
+            }
+            long maximoIntervalo = ultimaCubeta < 0 ? 0 : Math.min(maximo, valorDe(ultimaCubeta));
+            return new Instantanea(diferencia, suma - anterior.suma, maximoIntervalo);
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getMaximo() {
+            return maximo;
+        }
+
+        public double getMedia() {
+            return total == 0 ? 0.0 : (double) suma / total;
+        }
+
+        /**
+         * @param percentil entre 0 y 100 (por ejemplo 99.9)
+         */
+        public long percentil(double percentil) {
+            if (total == 0) {
+                return 0;
+            }
+            long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+            long acumulado = 0;
+            for (int i = 0; i < conteos.length; i++) {
+                acumulado += conteos[i];
+                if (acumulado >= objetivo) {
+                    return Math.min(valorDe(i), maximo);
+                }
+            }
+            return maximo;
+        }
+    }
+}
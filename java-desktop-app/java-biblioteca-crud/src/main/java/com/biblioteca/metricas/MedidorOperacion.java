@@ -0,0 +1,111 @@
+package com.biblioteca.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias, llamadas, errores y filas de una operación (por ejemplo LibroDAO.buscar).
+ *
+ * Se obtiene una vez de Metricas y se guarda en un campo estático; medir una
+ * llamada cuesta dos System.nanoTime() y unos pocos incrementos atómicos:
+ * <pre>
+ * long inicio = MEDIDOR.iniciar();
+ * ...
+ * MEDIDOR.terminar(inicio, filas);
+ * </pre>
+ */
+public class MedidorOperacion implements OperacionMXBean {
+
+    private final String nombre;
+    private final Histograma latencias = new Histograma();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filas = new LongAdder();
+
+    MedidorOperacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public long iniciar() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra una llamada terminada
+     *
+     * @param filas filas leídas o escritas (0 si no aplica)
+     */
+    public void terminar(long inicio, long filas) {
+        latencias.registrar(System.nanoTime() - inicio);
+        if (filas > 0) {
+            this.filas.add(filas);
+        }
+    }
+
+    /**
+     * Registra una llamada que terminó con error (también cuenta su latencia)
+     */
+    public void fallar(long inicio) {
+        errores.increment();
+        latencias.registrar(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Registra una duración medida por otros medios, en nanosegundos
+     */
+    public void registrar(long nanos) {
+        latencias.registrar(nanos);
+    }
+
+    public void sumarFilas(long filas) {
+        this.filas.add(filas);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Histograma.Instantanea instantanea() {
+        return latencias.instantanea();
+    }
+
+    // Vista JMX: valores acumulados desde el arranque
+
+    @Override
+    public long getLlamadas() {
+        return latencias.instantanea().getTotal();
+    }
+
+    @Override
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    @Override
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    @Override
+    public double getMediaMs() {
+        return latencias.instantanea().getMedia() / 1e6;
+    }
+
+    @Override
+    public double getP50Ms() {
+        return latencias.instantanea().percentil(50) / 1e6;
+    }
+
+    @Override
+    public double getP99Ms() {
+        return latencias.instantanea().percentil(99) / 1e6;
+    }
+
+    @Override
+    public double getP999Ms() {
+        return latencias.instantanea().percentil(99.9) / 1e6;
+    }
+
+    @Override
+    public double getMaximoMs() {
+        return latencias.instantanea().getMaximo() / 1e6;
+    }
+}
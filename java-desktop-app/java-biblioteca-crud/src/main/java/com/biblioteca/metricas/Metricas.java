@@ -0,0 +1,54 @@
+package com.biblioteca.metricas;
+
+import com.biblioteca.bitacora.Bitacora;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro de las operaciones medidas en la aplicación.
+ *
+ * Cada operación se publica también por JMX como com.biblioteca:type=Operacion,name=...
+ * (visible en JConsole o VisualVM).
+ */
+public final class Metricas {
+
+    private static final Bitacora LOG = Bitacora.para(Metricas.class);
+    private static final ConcurrentMap<String, MedidorOperacion> OPERACIONES = new ConcurrentHashMap<>();
+
+    private Metricas() {
+    }
+
+    /**
+     * Medidor de una operación, creándolo la primera vez. Conviene guardarlo en
+     * un campo estático en lugar de pedirlo en cada llamada.
+     */
+    public static MedidorOperacion operacion(String nombre) {
+        return OPERACIONES.computeIfAbsent(nombre, Metricas::crear);
+    }
+
+    /** Todas las operaciones registradas, ordenadas por nombre */
+    public static List<MedidorOperacion> operaciones() {
+        List<MedidorOperacion> lista = new ArrayList<>(OPERACIONES.values());
+        lista.sort(Comparator.comparing(MedidorOperacion::getNombre));
+        return lista;
+    }
+
+    private static MedidorOperacion crear(String nombre) {
+        MedidorOperacion medidor = new MedidorOperacion(nombre);
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            servidor.registerMBean(medidor, new ObjectName(
+                    "com.biblioteca:type=Operacion,name=" + ObjectName.quote(nombre)));
+        } catch (Exception e) {
+            LOG.advertencia("No se pudo publicar la métrica {} por JMX: {}", nombre, e.getMessage());
+        }
+        return medidor;
+    }
+}
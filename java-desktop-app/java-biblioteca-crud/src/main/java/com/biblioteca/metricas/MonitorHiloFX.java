@@ -0,0 +1,64 @@
+package com.biblioteca.metricas;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mide cuánto tarda el hilo de JavaFX en atender trabajo nuevo.
+ *
+ * Cada INTERVALO_MS se encola un latido con Platform.runLater y se registra, como
+ * operación "FX.espera", el tiempo entre encolarlo y que se ejecute. Si el hilo
+ * de la interfaz está bloqueado (una consulta en el hilo equivocado, un layout
+ * costoso) esa espera sube y se ve en los percentiles altos. No se encola otro
+ * latido hasta que el anterior se ejecuta, así un bloqueo largo no llena la cola.
+ */
+public final class MonitorHiloFX {
+
+    private static final long INTERVALO_MS = 100;
+    private static final MedidorOperacion ESPERA = Metricas.operacion("FX.espera");
+
+    private static final AtomicBoolean PENDIENTE = new AtomicBoolean(false);
+    private static ScheduledExecutorService programador;
+
+    private MonitorHiloFX() {
+    }
+
+    public static synchronized void iniciar() {
+        if (programador != null) {
+            return;
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "metricas-fx");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleAtFixedRate(MonitorHiloFX::latir, INTERVALO_MS, INTERVALO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+            programador = null;
+        }
+    }
+
+    private static void latir() {
+        if (!PENDIENTE.compareAndSet(false, true)) {
+            return;
+        }
+        long encolado = ESPERA.iniciar();
+        try {
+            Platform.runLater(() -> {
+                ESPERA.terminar(encolado, 0);
+                PENDIENTE.set(false);
+            });
+        } catch (IllegalStateException e) {
+            // El toolkit de JavaFX ya se cerró
+            PENDIENTE.set(false);
+        }
+    }
+}
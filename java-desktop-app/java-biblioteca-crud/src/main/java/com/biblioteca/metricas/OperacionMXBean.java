@@ -0,0 +1,24 @@
+package com.biblioteca.metricas;
+
+/**
+ * Vista JMX de una operación medida (com.biblioteca:type=Operacion,name=...).
+ * Los valores son acumulados desde que arrancó la aplicación.
+ */
+public interface OperacionMXBean {
+
+    long getLlamadas();
+
+    long getErrores();
+
+    long getFilas();
+
+    double getMediaMs();
+
+    double getP50Ms();
+
+    double getP99Ms();
+
+    double getP999Ms();
+
+    double getMaximoMs();
+}
@@ -0,0 +1,161 @@
+package com.biblioteca.metricas;
+
+import com.biblioteca.bitacora.Bitacora;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escribe periódicamente las métricas del último intervalo en un archivo de log rotativo.
+ *
+ * Cada línea resume una operación: llamadas, errores, filas y percentiles de latencia
+ * del intervalo (no acumulados). El archivo rota al superar MAXIMO_BYTES y se conservan
+ * ARCHIVOS_CONSERVADOS copias (biblioteca-metricas.log.1, .2, ...).
+ *
+ * Propiedades del sistema:
+ * <ul>
+ *   <li>biblioteca.metricas.intervaloS: segundos entre reportes (60 por defecto, 0 lo desactiva)</li>
+ *   <li>biblioteca.metricas.archivo: ruta del log (biblioteca-metricas.log por defecto)</li>
+ * </ul>
+ */
+public final class ReporteMetricas {
+
+    private static final Bitacora LOG = Bitacora.para(ReporteMetricas.class);
+
+    private static final long MAXIMO_BYTES = 1024 * 1024;
+    private static final int ARCHIVOS_CONSERVADOS = 5;
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static ScheduledExecutorService programador;
+
+    // Solo se usan desde el hilo del programador
+    private static final Map<String, Estado> ANTERIORES = new HashMap<>();
+
+    private ReporteMetricas() {
+    }
+
+    /**
+     * Empieza a reportar según biblioteca.metricas.intervaloS
+     */
+    public static synchronized void iniciar() {
+        long intervalo = Long.getLong("biblioteca.metricas.intervaloS", 60);
+        if (programador != null || intervalo <= 0) {
+            return;
+        }
+        Path archivo = Paths.get(System.getProperty("biblioteca.metricas.archivo", "biblioteca-metricas.log"));
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "metricas-reporte");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleAtFixedRate(() -> reportar(archivo), intervalo, intervalo, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Detiene el reporte, escribiendo antes el último intervalo
+     */
+    public static synchronized void detener() {
+        if (programador == null) {
+            return;
+        }
+        Path archivo = Paths.get(System.getProperty("biblioteca.metricas.archivo", "biblioteca-metricas.log"));
+        programador.shutdown();
+        try {
+            if (programador.awaitTermination(2, TimeUnit.SECONDS)) {
+                reportar(archivo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        programador = null;
+    }
+
+    /**
+     * Texto con las métricas de cada operación desde el reporte anterior
+     */
+    static String resumirIntervalo() {
+        StringBuilder texto = new StringBuilder();
+        String hora = LocalDateTime.now().format(FORMATO_HORA);
+
+        for (MedidorOperacion medidor : Metricas.operaciones()) {
+            Estado actual = new Estado(medidor.instantanea(), medidor.getErrores(), medidor.getFilas());
+            Estado anterior = ANTERIORES.put(medidor.getNombre(), actual);
+
+            Histograma.Instantanea intervalo = anterior == null
+                    ? actual.latencias
+                    : actual.latencias.menos(anterior.latencias);
+            if (intervalo.getTotal() == 0) {
+                continue;
+            }
+            long errores = actual.errores - (anterior == null ? 0 : anterior.errores);
+            long filas = actual.filas - (anterior == null ? 0 : anterior.filas);
+
+            texto.append(String.format(Locale.ROOT,
+                    "%s %-36s llamadas=%d errores=%d filas=%d media=%.3fms p50=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms%n",
+                    hora, medidor.getNombre(), intervalo.getTotal(), errores, filas,
+                    intervalo.getMedia() / 1e6,
+                    intervalo.percentil(50) / 1e6,
+                    intervalo.percentil(99) / 1e6,
+                    intervalo.percentil(99.9) / 1e6,
+                    intervalo.getMaximo() / 1e6));
+        }
+        return texto.toString();
+    }
+
+    private static void reportar(Path archivo) {
+        try {
+            String texto = resumirIntervalo();
+            if (texto.isEmpty()) {
+                return;
+            }
+            rotarSiHaceFalta(archivo);
+            Files.writeString(archivo, texto, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Error al escribir el reporte de métricas: {}", e.getMessage());
+        }
+    }
+
+    private static void rotarSiHaceFalta(Path archivo) throws IOException {
+        if (!Files.exists(archivo) || Files.size(archivo) < MAXIMO_BYTES) {
+            return;
+        }
+        Files.deleteIfExists(rotado(archivo, ARCHIVOS_CONSERVADOS));
+        for (int i = ARCHIVOS_CONSERVADOS - 1; i >= 1; i--) {
+            Path origen = rotado(archivo, i);
+            if (Files.exists(origen)) {
+                Files.move(origen, rotado(archivo, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(archivo, rotado(archivo, 1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Path rotado(Path archivo, int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+
+    private static final class Estado {
+        final Histograma.Instantanea latencias;
+        final long errores;
+        final long filas;
+
+        Estado(Histograma.Instantanea latencias, long errores, long filas) {
+            this.latencias = latencias;
+            this.errores = errores;
+            this.filas = filas;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.time.LocalDate;
 
 /**
  * Modelo que representa un libro en el sistema
+ *
+ * El autor y la editorial se guardan como instancias compartidas de TablaSimbolos.
  */
 public class Libro {
     private int id;
@@ -20,18 +22,18 @@ public class Libro {
     public Libro(int id, String nombre, String autor, LocalDate fechaLanzamiento, String editorial, double costo) {
         this.id = id;
         this.nombre = nombre;
-        this.autor = autor;
+        this.autor = TablaSimbolos.AUTORES.canonico(autor);
         this.fechaLanzamiento = fechaLanzamiento;
-        this.editorial = editorial;
+        this.editorial = TablaSimbolos.EDITORIALES.canonico(editorial);
         this.costo = costo;
     }
 
     // Constructor sin ID (para nuevos registros)
     public Libro(String nombre, String autor, LocalDate fechaLanzamiento, String editorial, double costo) {
         this.nombre = nombre;
-        this.autor = autor;
+        this.autor = TablaSimbolos.AUTORES.canonico(autor);
         this.fechaLanzamiento = fechaLanzamiento;
-        this.editorial = editorial;
+        this.editorial = TablaSimbolos.EDITORIALES.canonico(editorial);
         this.costo = costo;
     }
 
@@ -57,7 +59,7 @@ public class Libro {
     }
 
     public void setAutor(String autor) {
-        this.autor = autor;
+        this.autor = TablaSimbolos.AUTORES.canonico(autor);
     }
 
     public LocalDate getFechaLanzamiento() {
@@ -73,7 +75,7 @@ public class Libro {
     }
 
     public void setEditorial(String editorial) {
-        this.editorial = editorial;
+        this.editorial = TablaSimbolos.EDITORIALES.canonico(editorial);
     }
 
     public double getCosto() {
@@ -0,0 +1,56 @@
+package com.biblioteca.modelo;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla de símbolos: devuelve una única instancia de cada texto repetido.
+ *
+ * Cada fila leída de la base trae su propia copia de la editorial y del autor,
+ * aunque se repitan en miles de libros. Libro guarda la instancia canónica y la
+ * copia se descarta enseguida, así que un catálogo cargado en memoria ocupa una
+ * sola vez cada editorial y cada autor.
+ *
+ * Es segura entre hilos. Para que no crezca sin límite (por ejemplo con un autor
+ * distinto en cada libro), al llegar a su capacidad deja de agregar textos nuevos
+ * y los devuelve tal cual. Se desactiva con -Dbiblioteca.simbolos=false.
+ */
+public final class TablaSimbolos {
+
+    /** Editoriales: un catálogo fijo y pequeño */
+    public static final TablaSimbolos EDITORIALES = new TablaSimbolos(1_000);
+
+    /** Autores: se repiten mucho, pero puede haber muchos distintos */
+    public static final TablaSimbolos AUTORES = new TablaSimbolos(100_000);
+
+    private static final boolean ACTIVA = Boolean.parseBoolean(System.getProperty("biblioteca.simbolos", "true"));
+
+    private final ConcurrentHashMap<String, String> simbolos = new ConcurrentHashMap<>();
+    private final int capacidad;
+
+    public TablaSimbolos(int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Instancia canónica del texto (el mismo texto si es la primera vez o la tabla está llena)
+     */
+    public String canonico(String texto) {
+        if (texto == null || !ACTIVA) {
+            return texto;
+        }
+        String existente = simbolos.get(texto);
+        if (existente != null) {
+            return existente;
+        }
+        // El límite es aproximado: varios hilos pueden agregar a la vez cerca del borde
+        if (simbolos.size() >= capacidad) {
+            return texto;
+        }
+        existente = simbolos.putIfAbsent(texto, texto);
+        return existente != null ? existente : texto;
+    }
+
+    public int getTamano() {
+        return simbolos.size();
+    }
+}
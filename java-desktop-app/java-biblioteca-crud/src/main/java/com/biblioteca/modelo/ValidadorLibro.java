@@ -0,0 +1,39 @@
+package com.biblioteca.modelo;
+
+/**
+ * Reglas de validación de un libro, las mismas que aplica el formulario
+ */
+public class ValidadorLibro {
+
+    private ValidadorLibro() {}
+
+    /**
+     * Valida un libro completo
+     * @return los errores encontrados (una línea por error) o una cadena vacía si es válido
+     */
+    public static String validar(Libro libro) {
+        StringBuilder errores = new StringBuilder();
+
+        if (libro.getNombre() == null || libro.getNombre().trim().isEmpty()) {
+            errores.append("- El nombre del libro es requerido.\n");
+        }
+        if (libro.getAutor() == null || libro.getAutor().trim().isEmpty()) {
+            errores.append("- El nombre del autor es requerido.\n");
+        }
+        if (libro.getFechaLanzamiento() == null) {
+            errores.append("- La fecha de lanzamiento es requerida.\n");
+        }
+        if (libro.getEditorial() == null || libro.getEditorial().isEmpty()) {
+            errores.append("- Debe seleccionar una editorial.\n");
+        }
+        if (libro.getCosto() < 0 || Double.isNaN(libro.getCosto()) || Double.isInfinite(libro.getCosto())) {
+            errores.append("- El costo debe ser un número positivo.\n");
+        }
+
+        return errores.toString();
+    }
+
+    public static boolean esValido(Libro libro) {
+        return validar(libro).isEmpty();
+    }
+}
@@ -0,0 +1,213 @@
+package com.biblioteca.transferencia;
+
+import com.biblioteca.dao.ConsultaLibros;
+import com.biblioteca.dao.RepositorioLibros;
+import com.biblioteca.modelo.Libro;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta libros a CSV o JSON (opcionalmente comprimido con gzip).
+ *
+ * Las filas se leen de un cursor (RepositorioLibros.recorrer) y se escriben una a una en un
+ * writer con buffer, así que la memoria usada no depende del tamaño del catálogo.
+ * Se escribe primero en un archivo temporal que reemplaza al destino solo al
+ * terminar bien, para no dejar una copia de respaldo a medias.
+ *
+ * Columnas: id, nombre, autor, fecha_lanzamiento (ISO, 2024-01-31), editorial, costo.
+ */
+public class ExportadorLibros {
+
+    /** Cada cuántas filas se informa el progreso */
+    public static final int FILAS_POR_AVISO = 50_000;
+
+    static final String[] COLUMNAS = {"id", "nombre", "autor", "fecha_lanzamiento", "editorial", "costo"};
+
+    private final RepositorioLibros dao;
+
+    public ExportadorLibros(RepositorioLibros dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * EXPORTAR - Todos los libros, en orden de ID ascendente
+     * @return cantidad de libros exportados
+     */
+    public long exportar(Path archivo, Progreso progreso) throws IOException {
+        return exportar(archivo, new ConsultaLibros().ordenarPor(ConsultaLibros.Columna.ID, true), progreso);
+    }
+
+    /**
+     * EXPORTAR - Los libros que cumplen los filtros de la consulta, en su orden
+     * @return cantidad de libros exportados
+     */
+    public long exportar(Path archivo, ConsultaLibros consulta, Progreso progreso) throws IOException {
+        FormatoArchivo formato = FormatoArchivo.desde(archivo);
+        long total = dao.contar(consulta);
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".parcial");
+        long escritas = 0;
+
+        try (Stream<Libro> libros = dao.recorrer(consulta, RepositorioLibros.TAMANO_FETCH_DEFECTO);
+             Writer salida = FormatoArchivo.abrirEscritura(temporal, FormatoArchivo.esGzip(archivo))) {
+
+            Iterator<Libro> it = libros.iterator();
+            if (formato == FormatoArchivo.CSV) {
+                salida.write(String.join(",", COLUMNAS));
+                salida.write('\n');
+            } else {
+                salida.write('[');
+            }
+
+            // Cada fila se arma en la misma línea y se escribe de una vez
+            StringBuilder linea = new StringBuilder(256);
+            char[] caracteres = new char[256];
+            while (it.hasNext()) {
+                Libro libro = it.next();
+                linea.setLength(0);
+                if (formato == FormatoArchivo.CSV) {
+                    agregarCsv(linea, libro);
+                } else {
+                    linea.append(escritas > 0 ? ",\n" : "\n");
+                    agregarJson(linea, libro);
+                }
+                if (linea.length() > caracteres.length) {
+                    caracteres = new char[linea.length() * 2];
+                }
+                linea.getChars(0, linea.length(), caracteres, 0);
+                salida.write(caracteres, 0, linea.length());
+                escritas++;
+                if (escritas % FILAS_POR_AVISO == 0) {
+                    progreso.informar(escritas, total);
+                }
+            }
+
+            if (formato == FormatoArchivo.JSON) {
+                salida.write("\n]\n");
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+        progreso.informar(escritas, total);
+        return escritas;
+    }
+
+    private static void agregarCsv(StringBuilder linea, Libro libro) {
+        linea.append(libro.getId()).append(',');
+        agregarCampoCsv(linea, libro.getNombre());
+        linea.append(',');
+        agregarCampoCsv(linea, libro.getAutor());
+        linea.append(',');
+        agregarFecha(linea, libro.getFechaLanzamiento());
+        linea.append(',');
+        agregarCampoCsv(linea, libro.getEditorial());
+        linea.append(',');
+        agregarCosto(linea, libro.getCosto());
+        linea.append('\n');
+    }
+
+    /** Entre comillas solo si hace falta (RFC 4180) */
+    private static void agregarCampoCsv(StringBuilder linea, String valor) {
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            linea.append(valor);
+            return;
+        }
+        linea.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                linea.append('"');
+            }
+            linea.append(c);
+        }
+        linea.append('"');
+    }
+
+    private static void agregarJson(StringBuilder linea, Libro libro) {
+        linea.append("{\"id\":").append(libro.getId());
+        linea.append(",\"nombre\":");
+        agregarTextoJson(linea, libro.getNombre());
+        linea.append(",\"autor\":");
+        agregarTextoJson(linea, libro.getAutor());
+        linea.append(",\"fecha_lanzamiento\":\"");
+        agregarFecha(linea, libro.getFechaLanzamiento());
+        linea.append("\",\"editorial\":");
+        agregarTextoJson(linea, libro.getEditorial());
+        linea.append(",\"costo\":");
+        agregarCosto(linea, libro.getCosto());
+        linea.append('}');
+    }
+
+    private static void agregarTextoJson(StringBuilder linea, String valor) {
+        linea.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"':
+                    linea.append("\\\"");
+                    break;
+                case '\\':
+                    linea.append("\\\\");
+                    break;
+                case '\n':
+                    linea.append("\\n");
+                    break;
+                case '\r':
+                    linea.append("\\r");
+                    break;
+                case '\t':
+                    linea.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        linea.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        linea.append(c);
+                    }
+            }
+        }
+        linea.append('"');
+    }
+
+    /** Fecha ISO (2024-01-31) sin pasar por LocalDate.toString */
+    private static void agregarFecha(StringBuilder linea, LocalDate fecha) {
+        int anio = fecha.getYear();
+        if (anio < 1000 || anio > 9999) {
+            linea.append(fecha);
+            return;
+        }
+        linea.append(anio).append('-');
+        agregarDosDigitos(linea, fecha.getMonthValue());
+        linea.append('-');
+        agregarDosDigitos(linea, fecha.getDayOfMonth());
+    }
+
+    /** Costo con dos decimales (12.50), igual que se guarda en la base */
+    private static void agregarCosto(StringBuilder linea, double costo) {
+        long centavos = Math.round(costo * 100);
+        if (centavos < 0) {
+            linea.append('-');
+            centavos = -centavos;
+        }
+        linea.append(centavos / 100).append('.');
+        agregarDosDigitos(linea, (int) (centavos % 100));
+    }
+
+    private static void agregarDosDigitos(StringBuilder linea, int valor) {
+        linea.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+}
@@ -0,0 +1,73 @@
+package com.biblioteca.transferencia;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formatos de archivo para exportar e importar libros.
+ *
+ * El formato se deduce de la extensión: .csv o .json, con .gz al final para
+ * comprimir (libros.csv.gz). Los archivos se leen y escriben en UTF-8.
+ */
+public enum FormatoArchivo {
+    CSV,
+    JSON;
+
+    static final int TAMANO_BUFFER = 64 * 1024;
+
+    /**
+     * Formato según la extensión del archivo
+     * @throws IllegalArgumentException si la extensión no es .csv ni .json (con o sin .gz)
+     */
+    public static FormatoArchivo desde(Path archivo) {
+        String nombre = sinGzip(archivo.getFileName().toString().toLowerCase(Locale.ROOT));
+        if (nombre.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nombre.endsWith(".json")) {
+            return JSON;
+        }
+        throw new IllegalArgumentException("Extensión no reconocida (se espera .csv o .json, opcionalmente .gz): " + archivo);
+    }
+
+    public static boolean esGzip(Path archivo) {
+        return archivo.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    private static String sinGzip(String nombre) {
+        return nombre.endsWith(".gz") ? nombre.substring(0, nombre.length() - 3) : nombre;
+    }
+
+    static BufferedWriter abrirEscritura(Path archivo, boolean gzip) throws IOException {
+        OutputStream salida = Files.newOutputStream(archivo);
+        if (gzip) {
+            // Compresión rápida: con el nivel por defecto deflate es el cuello de botella
+            salida = new GZIPOutputStream(salida, TAMANO_BUFFER) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+        }
+        return new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+    }
+
+    static BufferedReader abrirLectura(Path archivo) throws IOException {
+        InputStream entrada = Files.newInputStream(archivo);
+        if (esGzip(archivo)) {
+            entrada = new GZIPInputStream(entrada, TAMANO_BUFFER);
+        }
+        return new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFFER);
+    }
+}
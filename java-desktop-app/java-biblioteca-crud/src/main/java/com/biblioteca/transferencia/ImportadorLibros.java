@@ -0,0 +1,100 @@
+package com.biblioteca.transferencia;
+
+import com.biblioteca.dao.RepositorioLibros;
+import com.biblioteca.dao.ResultadoLote;
+import com.biblioteca.modelo.Libro;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Importa libros desde CSV o JSON (opcionalmente comprimido con gzip).
+ *
+ * El archivo se lee en streaming y los libros se insertan con RepositorioLibros.insertarLote,
+ * en transacciones de tamanoLote filas: la memoria usada no depende del tamaño del
+ * archivo. Cada fila se valida con ValidadorLibro; las inválidas se informan en
+ * ResultadoLote.getFallos() (con su posición en el archivo, desde 0) sin detener
+ * la importación. Los IDs del archivo se ignoran: la base asigna IDs nuevos.
+ *
+ * Si el archivo está mal formado la importación se detiene con IOException; los
+ * lotes ya confirmados quedan en la base.
+ *
+ * En modo masivo (RepositorioLibros.insertarLoteMasivo) todo va en una transacción con los
+ * índices suspendidos: varias veces más rápido, pero si se interrumpe no queda nada.
+ * Por defecto se usa cuando la tabla está vacía, como al restaurar un respaldo.
+ */
+public class ImportadorLibros {
+
+    private final RepositorioLibros dao;
+
+    public ImportadorLibros(RepositorioLibros dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * IMPORTAR - Inserta los libros del archivo en lotes de RepositorioLibros.TAMANO_LOTE_DEFECTO
+     */
+    public ResultadoLote importar(Path archivo, Progreso progreso) throws IOException {
+        return importar(archivo, RepositorioLibros.TAMANO_LOTE_DEFECTO, progreso);
+    }
+
+    /**
+     * IMPORTAR - Inserta los libros del archivo en lotes de tamanoLote (masivo si la tabla está vacía)
+     */
+    public ResultadoLote importar(Path archivo, int tamanoLote, Progreso progreso) throws IOException {
+        return importar(archivo, tamanoLote, dao.contar() == 0, progreso);
+    }
+
+    /**
+     * IMPORTAR - Inserta los libros del archivo en lotes de tamanoLote, eligiendo el modo
+     */
+    public ResultadoLote importar(Path archivo, int tamanoLote, boolean masivo, Progreso progreso) throws IOException {
+        FormatoArchivo formato = FormatoArchivo.desde(archivo);
+        BufferedReader entrada = FormatoArchivo.abrirLectura(archivo);
+
+        try (LectorLibros lector = formato == FormatoArchivo.CSV ? new LectorCsv(entrada) : new LectorJson(entrada)) {
+            ConProgreso filas = new ConProgreso(lector, progreso);
+            ResultadoLote resultado = masivo
+                    ? dao.insertarLoteMasivo(() -> filas, tamanoLote)
+                    : dao.insertarLote(() -> filas, tamanoLote);
+            progreso.informar(filas.leidas, -1);
+            return resultado;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            entrada.close();
+        }
+    }
+
+    /**
+     * Cuenta las filas leídas e informa el progreso cada FILAS_POR_AVISO
+     */
+    private static final class ConProgreso implements Iterator<Libro> {
+        private final Iterator<Libro> origen;
+        private final Progreso progreso;
+        private long leidas;
+
+        ConProgreso(Iterator<Libro> origen, Progreso progreso) {
+            this.origen = origen;
+            this.progreso = progreso;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return origen.hasNext();
+        }
+
+        @Override
+        public Libro next() {
+            Libro libro = origen.next();
+            leidas++;
+            if (leidas % ExportadorLibros.FILAS_POR_AVISO == 0) {
+                progreso.informar(leidas, -1);
+            }
+            return libro;
+        }
+    }
+}
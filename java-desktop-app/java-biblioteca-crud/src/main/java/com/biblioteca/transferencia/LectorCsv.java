@@ -0,0 +1,105 @@
+package com.biblioteca.transferencia;
+
+import com.biblioteca.modelo.Libro;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lee libros de un CSV con encabezado (RFC 4180: campos entre comillas pueden
+ * tener comas, saltos de línea y comillas dobles "").
+ *
+ * Las columnas se buscan por nombre en el encabezado, en cualquier orden; la
+ * columna id, si está, se ignora porque la base asigna IDs nuevos.
+ */
+class LectorCsv extends LectorLibros {
+
+    private static final String[] REQUERIDAS = {"nombre", "autor", "fecha_lanzamiento", "editorial", "costo"};
+
+    private final int[] posiciones = new int[REQUERIDAS.length];
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+
+    LectorCsv(Reader entrada) throws IOException {
+        super(entrada);
+        if (!leerRegistro()) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+
+        List<String> encabezado = new ArrayList<>();
+        for (String nombre : campos) {
+            encabezado.add(nombre.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        for (int i = 0; i < REQUERIDAS.length; i++) {
+            posiciones[i] = encabezado.indexOf(REQUERIDAS[i]);
+            if (posiciones[i] < 0) {
+                throw new IOException("Falta la columna '" + REQUERIDAS[i] + "' en el encabezado del CSV");
+            }
+        }
+    }
+
+    @Override
+    protected Libro leerLibro() throws IOException {
+        while (leerRegistro()) {
+            // Las líneas en blanco no son filas
+            if (campos.size() == 1 && campos.get(0).isEmpty()) {
+                continue;
+            }
+            return crearLibro(valor(0), valor(1), valor(2), valor(3), valor(4));
+        }
+        return null;
+    }
+
+    private String valor(int requerida) {
+        int posicion = posiciones[requerida];
+        return posicion < campos.size() ? campos.get(posicion) : null;
+    }
+
+    /**
+     * Lee un registro en campos
+     * @return false si ya no hay más registros
+     */
+    private boolean leerRegistro() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+
+        int c = leer();
+        if (c == -1) {
+            return false;
+        }
+
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new IOException("Comillas sin cerrar al final del CSV");
+                }
+                if (c == '"') {
+                    int siguiente = leer();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        devolver(siguiente);
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                campos.add(campo.toString());
+                return true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+            c = leer();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.biblioteca.transferencia;
+
+import com.biblioteca.modelo.Libro;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lee libros de un JSON: un arreglo de objetos planos como los que escribe
+ * ExportadorLibros, o bien objetos sueltos uno tras otro (JSON por líneas).
+ *
+ * Es un lector mínimo y en streaming: solo entiende objetos con valores de texto,
+ * número, booleano o null. Las claves desconocidas y el id se ignoran.
+ */
+class LectorJson extends LectorLibros {
+
+    private final StringBuilder texto = new StringBuilder();
+    private boolean enArreglo;
+    private boolean primero = true;
+    private long objeto = 0;
+
+    LectorJson(Reader entrada) throws IOException {
+        super(entrada);
+        int c = saltarEspacios();
+        if (c == '[') {
+            enArreglo = true;
+        } else {
+            devolver(c);
+        }
+    }
+
+    @Override
+    protected Libro leerLibro() throws IOException {
+        int c = saltarEspacios();
+        if (enArreglo) {
+            if (c == ']') {
+                return null;
+            }
+            if (!primero) {
+                esperar(',', c);
+                c = saltarEspacios();
+            }
+        } else if (c == -1) {
+            return null;
+        }
+        primero = false;
+        objeto++;
+        esperar('{', c);
+        return leerObjeto();
+    }
+
+    private Libro leerObjeto() throws IOException {
+        String nombre = null;
+        String autor = null;
+        String fecha = null;
+        String editorial = null;
+        String costo = null;
+
+        int c = saltarEspacios();
+        if (c == '}') {
+            return crearLibro(null, null, null, null, null);
+        }
+        while (true) {
+            esperar('"', c);
+            String clave = leerTexto();
+            esperar(':', saltarEspacios());
+            String valor = leerValor();
+            switch (clave) {
+                case "nombre":
+                    nombre = valor;
+                    break;
+                case "autor":
+                    autor = valor;
+                    break;
+                case "fecha_lanzamiento":
+                    fecha = valor;
+                    break;
+                case "editorial":
+                    editorial = valor;
+                    break;
+                case "costo":
+                    costo = valor;
+                    break;
+                default:
+                    // id y claves desconocidas
+            }
+
+            c = saltarEspacios();
+            if (c == '}') {
+                return crearLibro(nombre, autor, fecha, editorial, costo);
+            }
+            esperar(',', c);
+            c = saltarEspacios();
+        }
+    }
+
+    /** Valor como texto; null para null. Los números y booleanos se devuelven tal cual se escribieron */
+    private String leerValor() throws IOException {
+        int c = saltarEspacios();
+        if (c == '"') {
+            return leerTexto();
+        }
+        texto.setLength(0);
+        while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            texto.append((char) c);
+            c = leer();
+        }
+        devolver(c);
+        String valor = texto.toString();
+        if (valor.isEmpty() || valor.equals("{") || valor.equals("[")) {
+            throw error("se esperaba un valor simple");
+        }
+        return valor.equals("null") ? null : valor;
+    }
+
+    /** Texto entre comillas; la comilla de apertura ya se leyó */
+    private String leerTexto() throws IOException {
+        texto.setLength(0);
+        while (true) {
+            int c = leer();
+            if (c == -1) {
+                throw error("texto sin cerrar");
+            }
+            if (c == '"') {
+                return texto.toString();
+            }
+            if (c != '\\') {
+                texto.append((char) c);
+                continue;
+            }
+            int escape = leer();
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    texto.append((char) escape);
+                    break;
+                case 'b':
+                    texto.append('\b');
+                    break;
+                case 'f':
+                    texto.append('\f');
+                    break;
+                case 'n':
+                    texto.append('\n');
+                    break;
+                case 'r':
+                    texto.append('\r');
+                    break;
+                case 't':
+                    texto.append('\t');
+                    break;
+                case 'u':
+                    int codigo = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digito = Character.digit(leer(), 16);
+                        if (digito < 0) {
+                            throw error("escape \\u inválido");
+                        }
+                        codigo = codigo * 16 + digito;
+                    }
+                    texto.append((char) codigo);
+                    break;
+                default:
+                    throw error("escape inválido");
+            }
+        }
+    }
+
+    private int saltarEspacios() throws IOException {
+        int c = leer();
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = leer();
+        }
+        return c;
+    }
+
+    private void esperar(char esperado, int c) throws IOException {
+        if (c != esperado) {
+            throw error("se esperaba '" + esperado + "' y se encontró "
+                    + (c == -1 ? "el final del archivo" : "'" + (char) c + "'"));
+        }
+    }
+
+    private IOException error(String mensaje) {
+        return new IOException("JSON inválido en el objeto " + objeto + ": " + mensaje);
+    }
+}
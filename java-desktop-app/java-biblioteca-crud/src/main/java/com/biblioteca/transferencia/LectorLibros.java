@@ -0,0 +1,128 @@
+package com.biblioteca.transferencia;
+
+import com.biblioteca.modelo.Libro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee libros de un archivo de a uno, sin cargarlo entero en memoria.
+ *
+ * Un valor que no se puede interpretar (una fecha mal escrita, un costo que no es
+ * número) deja el campo vacío, de modo que ValidadorLibro rechaza la fila con el
+ * mismo mensaje que mostraría el formulario y la importación sigue con la siguiente.
+ * Los errores de lectura se lanzan como UncheckedIOException.
+ */
+abstract class LectorLibros implements Iterator<Libro>, Closeable {
+
+    private final Reader entrada;
+    private final char[] buffer = new char[8192];
+    private int posicion;
+    private int limite;
+    private int devuelto = -2;
+
+    private Libro siguiente;
+    private boolean terminado;
+
+    LectorLibros(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * @return el siguiente libro, o null si no hay más
+     */
+    protected abstract Libro leerLibro() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null && !terminado) {
+            try {
+                siguiente = leerLibro();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            terminado = siguiente == null;
+        }
+        return siguiente != null;
+    }
+
+    @Override
+    public Libro next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Libro libro = siguiente;
+        siguiente = null;
+        return libro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    /** Siguiente carácter, o -1 al final */
+    protected int leer() throws IOException {
+        if (devuelto != -2) {
+            int c = devuelto;
+            devuelto = -2;
+            return c;
+        }
+        if (posicion == limite) {
+            limite = entrada.read(buffer, 0, buffer.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        return buffer[posicion++];
+    }
+
+    /** Hace que el próximo leer() vuelva a dar c */
+    protected void devolver(int c) {
+        devuelto = c;
+    }
+
+    static Libro crearLibro(String nombre, String autor, String fecha, String editorial, String costo) {
+        Libro libro = new Libro();
+        libro.setNombre(vacioANull(nombre));
+        libro.setAutor(vacioANull(autor));
+        libro.setFechaLanzamiento(interpretarFecha(fecha));
+        libro.setEditorial(vacioANull(editorial));
+        libro.setCosto(interpretarCosto(costo));
+        return libro;
+    }
+
+    private static LocalDate interpretarFecha(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(texto.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static double interpretarCosto(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(texto.trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String vacioANull(String texto) {
+        return texto == null || texto.isBlank() ? null : texto.trim();
+    }
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.transferencia;
+
+/**
+ * Recibe el avance de una exportación o importación.
+ * Se llama desde el hilo que hace la transferencia, cada cierta cantidad de filas y al terminar.
+ */
+@FunctionalInterface
+public interface Progreso {
+
+    Progreso NINGUNO = (procesadas, total) -> { };
+
+    /**
+     * @param procesadas filas leídas o escritas hasta ahora
+     * @param total      total de filas, o -1 si no se conoce (al importar)
+     */
+    void informar(long procesadas, long total);
+}
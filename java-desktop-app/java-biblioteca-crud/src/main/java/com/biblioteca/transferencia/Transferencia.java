@@ -0,0 +1,78 @@
+package com.biblioteca.transferencia;
+
+import com.biblioteca.dao.LibroDAO;
+import com.biblioteca.dao.ResultadoLote;
+import com.biblioteca.database.ConexionDB;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Exportar e importar el catálogo desde la línea de comandos, sin abrir la interfaz.
+ *
+ * <pre>
+ * java -cp ... com.biblioteca.transferencia.Transferencia exportar respaldo.csv.gz
+ * java -cp ... com.biblioteca.transferencia.Transferencia importar libros.json [tamañoLote]
+ * </pre>
+ *
+ * La base se elige igual que en la aplicación (-Dbiblioteca.db.url=...).
+ */
+public final class Transferencia {
+
+    private Transferencia() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || !(args[0].equals("exportar") || args[0].equals("importar"))) {
+            System.err.println("Uso: Transferencia exportar|importar <archivo.csv|archivo.json>[.gz] [tamañoLote]");
+            System.exit(2);
+        }
+
+        Path archivo = Paths.get(args[1]);
+        LibroDAO dao = new LibroDAO();
+        long inicio = System.nanoTime();
+        int codigo = 0;
+
+        try {
+            ConexionDB.iniciar();
+            if (args[0].equals("exportar")) {
+                long filas = new ExportadorLibros(dao).exportar(archivo, Transferencia::mostrarProgreso);
+                informarFin("Exportados", filas, inicio);
+            } else {
+                int tamanoLote = args.length > 2 ? Integer.parseInt(args[2]) : LibroDAO.TAMANO_LOTE_DEFECTO;
+                ResultadoLote resultado = new ImportadorLibros(dao).importar(archivo, tamanoLote, Transferencia::mostrarProgreso);
+                informarFin("Importados", resultado.getInsertados(), inicio);
+                for (ResultadoLote.Fallo fallo : resultado.getFallos()) {
+                    System.err.println("Fila " + fallo.getIndice() + ": " + fallo.getMensaje().trim().replace('\n', ' '));
+                }
+                if (resultado.getErrorGeneral() != null) {
+                    System.err.println("Importación interrumpida: " + resultado.getErrorGeneral());
+                    codigo = 1;
+                } else if (!resultado.getFallos().isEmpty()) {
+                    System.err.println(resultado.getFallos().size() + " filas rechazadas.");
+                    codigo = 1;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            codigo = 1;
+        } finally {
+            ConexionDB.cerrar();
+        }
+        System.exit(codigo);
+    }
+
+    private static void mostrarProgreso(long procesadas, long total) {
+        if (total > 0) {
+            System.out.printf("%,d / %,d filas (%d%%)%n", procesadas, total, procesadas * 100 / total);
+        } else {
+            System.out.printf("%,d filas%n", procesadas);
+        }
+    }
+
+    private static void informarFin(String accion, long filas, long inicio) {
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%s %,d libros en %.2f s (%,.0f filas/s)%n", accion, filas, segundos, filas / segundos);
+    }
+}
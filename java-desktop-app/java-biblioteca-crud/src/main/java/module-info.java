@@ -2,6 +2,8 @@ module com.biblioteca {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires java.management;
+    requires com.biblioteca.migraciones;
 
     opens com.biblioteca to javafx.fxml;
     opens com.biblioteca.controlador to javafx.fxml;
@@ -12,4 +14,8 @@ module com.biblioteca {
     exports com.biblioteca.modelo;
     exports com.biblioteca.dao;
     exports com.biblioteca.database;
+    exports com.biblioteca.metricas;
+    exports com.biblioteca.bitacora;
+    exports com.biblioteca.transferencia;
+    exports com.biblioteca.instantanea;
 }
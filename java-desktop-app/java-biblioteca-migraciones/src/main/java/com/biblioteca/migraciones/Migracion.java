@@ -0,0 +1,29 @@
+package com.biblioteca.migraciones;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Un paso del esquema. Se ejecuta dentro de la transacción del Migrador, así que
+ * no debe confirmar ni deshacer por su cuenta: si lanza una excepción, se deshace
+ * todo lo que hizo.
+ */
+@FunctionalInterface
+public interface Migracion {
+
+    void aplicar(Connection conexion) throws SQLException;
+
+    /**
+     * Migración hecha solo de sentencias SQL, que se ejecutan en orden
+     */
+    static Migracion sql(String... sentencias) {
+        return conexion -> {
+            try (Statement stmt = conexion.createStatement()) {
+                for (String sentencia : sentencias) {
+                    stmt.execute(sentencia);
+                }
+            }
+        };
+    }
+}
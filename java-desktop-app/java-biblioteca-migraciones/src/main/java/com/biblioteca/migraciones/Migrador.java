@@ -0,0 +1,122 @@
+package com.biblioteca.migraciones;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aplica migraciones numeradas a una base SQLite y guarda la versión alcanzada en
+ * PRAGMA user_version (un entero en la cabecera del archivo).
+ *
+ * Si la base ya está en la última versión, migrar solo lee ese entero: no se ejecuta
+ * ningún DDL, así que el arranque cuesta lo mismo con cualquier tamaño de esquema.
+ * Si no, las migraciones pendientes se aplican en orden, una sola vez, dentro de una
+ * única transacción junto con el cambio de versión: o quedan todas o ninguna.
+ *
+ * <pre>
+ * Migrador migraciones = new Migrador()
+ *     .agregar(1, "esquema inicial", Esquema::crear)
+ *     .agregar(2, "índice por autor", Migracion.sql("CREATE INDEX idx_libros_autor ON libros (autor)"));
+ * migraciones.migrar(conexion);
+ * </pre>
+ *
+ * Las migraciones nunca se modifican una vez publicadas: un cambio de esquema es
+ * siempre una migración nueva con el número siguiente.
+ */
+public final class Migrador {
+
+    private record Paso(int version, String descripcion, Migracion migracion) {}
+
+    private final List<Paso> pasos = new ArrayList<>();
+
+    /**
+     * Agrega la migración que lleva la base a la versión indicada
+     * @throws IllegalArgumentException si la versión no es mayor que la anterior
+     */
+    public Migrador agregar(int version, String descripcion, Migracion migracion) {
+        if (version <= getVersionFinal()) {
+            throw new IllegalArgumentException("La migración " + version + " debe ser mayor que " + getVersionFinal());
+        }
+        pasos.add(new Paso(version, descripcion, migracion));
+        return this;
+    }
+
+    /**
+     * Versión en la que queda la base después de migrar (0 si no hay migraciones)
+     */
+    public int getVersionFinal() {
+        return pasos.isEmpty() ? 0 : pasos.get(pasos.size() - 1).version();
+    }
+
+    /**
+     * MIGRAR - Aplica las migraciones pendientes
+     *
+     * @param conexion conexión en modo autocommit; al terminar sigue en ese modo
+     * @return las migraciones aplicadas ("2 índice por autor"), vacía si la base ya estaba al día
+     * @throws SQLException si una migración falla (la base queda como estaba) o si la
+     *                      base es de una versión más nueva que la que conoce la aplicación
+     */
+    public List<String> migrar(Connection conexion) throws SQLException {
+        if (leerVersion(conexion) == getVersionFinal()) {
+            return List.of();
+        }
+
+        List<String> aplicadas = new ArrayList<>();
+        enTransaccion(conexion, c -> {
+            // Se vuelve a leer con el bloqueo tomado: otro proceso pudo migrar mientras tanto
+            int actual = leerVersion(c);
+            if (actual > getVersionFinal()) {
+                throw new SQLException("La base está en la versión " + actual
+                        + ", más nueva que la que conoce esta aplicación (" + getVersionFinal() + ")");
+            }
+            for (Paso paso : pasos) {
+                if (paso.version() > actual) {
+                    paso.migracion().aplicar(c);
+                    aplicadas.add(paso.version() + " " + paso.descripcion());
+                }
+            }
+            try (Statement stmt = c.createStatement()) {
+                stmt.execute("PRAGMA user_version = " + getVersionFinal());
+            }
+        });
+        return aplicadas;
+    }
+
+    /**
+     * Versión del esquema guardada en la base (0 en una base nueva o anterior a las migraciones)
+     */
+    public static int leerVersion(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Ejecuta cambios de esquema en una transacción que toma el bloqueo de escritura
+     * desde el principio (BEGIN IMMEDIATE). Con una transacción normal, dos procesos
+     * que arrancan a la vez leerían los dos y uno fallaría al intentar escribir.
+     */
+    public static void enTransaccion(Connection conexion, Migracion cambios) throws SQLException {
+        if (!conexion.getAutoCommit()) {
+            throw new IllegalStateException("La conexión ya está en una transacción");
+        }
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                cambios.aplicar(conexion);
+                stmt.execute("COMMIT");
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    stmt.execute("ROLLBACK");
+                } catch (SQLException alDeshacer) {
+                    e.addSuppressed(alDeshacer);
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+module com.biblioteca.migraciones {
+    requires transitive java.sql;
+
+    exports com.biblioteca.migraciones;
+}